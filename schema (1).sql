@@ -3,6 +3,13 @@
 DROP TABLE IF EXISTS comments;
 DROP TABLE IF EXISTS posts;
 DROP TABLE IF EXISTS users;
+DROP TABLE IF EXISTS id_generators;
+
+-- Id blocks for the users/posts/comments generators (see IdGenerators)
+CREATE TABLE id_generators (
+    sequence_name VARCHAR(255) NOT NULL PRIMARY KEY,
+    next_val BIGINT
+);
 
 -- Users Table
 CREATE TABLE users (
@@ -17,12 +24,17 @@ CREATE TABLE posts (
     id SERIAL PRIMARY KEY,
     title VARCHAR(255) NOT NULL,
     content TEXT NOT NULL,
+    excerpt VARCHAR(201) NULL,
     author_id INTEGER NOT NULL,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    comment_count BIGINT NOT NULL DEFAULT 0,
+    comments_changed_at TIMESTAMP NULL,
     CONSTRAINT fk_post_author FOREIGN KEY (author_id) REFERENCES users(id) ON DELETE CASCADE
 );
 
+CREATE INDEX idx_posts_created_at_id ON posts (created_at, id);
+
 -- Comments Table
 CREATE TABLE comments (
     id SERIAL PRIMARY KEY,
@@ -33,3 +45,13 @@ CREATE TABLE comments (
     CONSTRAINT fk_comment_post FOREIGN KEY (post_id) REFERENCES posts(id) ON DELETE CASCADE,
     CONSTRAINT fk_comment_author FOREIGN KEY (author_id) REFERENCES users(id) ON DELETE CASCADE
 );
+
+CREATE INDEX idx_comments_post_created_at_id ON comments (post_id, created_at, id);
+
+-- Start the id generators above existing rows (IdGeneratorInitializer also does this at startup)
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'users', COALESCE(MAX(id), 0) + 51 FROM users;
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'posts', COALESCE(MAX(id), 0) + 51 FROM posts;
+INSERT INTO id_generators (sequence_name, next_val)
+SELECT 'comments', COALESCE(MAX(id), 0) + 51 FROM comments;
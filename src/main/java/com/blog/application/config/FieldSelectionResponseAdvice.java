@@ -0,0 +1,35 @@
+package com.blog.application.config;
+
+import com.blog.application.util.FieldSelection;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+/**
+ * Applies the {@link FieldSelection} a controller bound to the request to the JSON body. Every
+ * response gets a filter provider, so DTOs marked with {@code @JsonFilter} serialize in full when
+ * nothing was selected.
+ */
+@RestControllerAdvice
+public class FieldSelectionResponseAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    @Override
+    protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer,
+                                           MediaType contentType,
+                                           MethodParameter returnType,
+                                           ServerHttpRequest request,
+                                           ServerHttpResponse response) {
+        FieldSelection selection = FieldSelection.all();
+        if (request instanceof ServletServerHttpRequest servletRequest
+                && servletRequest.getServletRequest().getAttribute(FieldSelection.REQUEST_ATTRIBUTE)
+                        instanceof FieldSelection bound) {
+            selection = bound;
+        }
+        bodyContainer.setFilters(selection.toFilterProvider());
+    }
+}
@@ -0,0 +1,60 @@
+package com.blog.application.config;
+
+import com.blog.application.entity.User;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Publishes the second-level cache regions under the same {@code cache.gets} / {@code cache.puts}
+ * meters the Caffeine caches use, tagged {@code cache=users} and {@code cache=users-by-username},
+ * so their hit rates sit next to {@code userDetails} and {@code postResponses}.
+ * Needs {@code hibernate.generate_statistics=true}; without it the counters stay at zero.
+ */
+@Component
+@Slf4j
+public class HibernateCacheMetrics implements MeterBinder {
+
+    private static final List<String> REGIONS = List.of(User.CACHE_REGION, User.NATURAL_ID_CACHE_REGION);
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public HibernateCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (!statistics.isStatisticsEnabled()) {
+            log.warn("Hibernate statistics are disabled; second-level cache metrics will read zero");
+        }
+        for (String region : REGIONS) {
+            CacheRegionStatistics stats = statistics.getDomainDataRegionStatistics(region);
+            if (stats == null) {
+                log.warn("No second-level cache region named {}; not publishing its metrics", region);
+                continue;
+            }
+            FunctionCounter.builder("cache.gets", stats, CacheRegionStatistics::getHitCount)
+                    .tags("cache", region, "result", "hit")
+                    .description("The number of times cache lookup methods have returned a cached value.")
+                    .register(registry);
+            FunctionCounter.builder("cache.gets", stats, CacheRegionStatistics::getMissCount)
+                    .tags("cache", region, "result", "miss")
+                    .description("The number of times cache lookup methods have returned an uncached (newly loaded) value, or null")
+                    .register(registry);
+            FunctionCounter.builder("cache.puts", stats, CacheRegionStatistics::getPutCount)
+                    .tags("cache", region)
+                    .description("The number of entries added to the cache")
+                    .register(registry);
+        }
+    }
+}
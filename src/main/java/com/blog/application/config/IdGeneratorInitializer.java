@@ -0,0 +1,60 @@
+package com.blog.application.config;
+
+import com.blog.application.entity.IdGenerators;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Moves each id generator past the highest id already in its table before the application
+ * serves requests. Rows inserted while the tables still used AUTO_INCREMENT, or by scripts such
+ * as {@code data.sql}, would otherwise collide with the first generated ids.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+@Slf4j
+public class IdGeneratorInitializer {
+
+    // Generator row -> entity table
+    private static final Map<String, String> GENERATED_TABLES = Map.of(
+            "users", "users",
+            "posts", "posts",
+            "comments", "comments");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void alignGenerators() {
+        GENERATED_TABLES.forEach(this::align);
+    }
+
+    private void align(String generator, String table) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        // The pooled optimizer hands out (next_val - ALLOCATION_SIZE, next_val], so stay a full block above
+        long floor = (maxId == null ? 0 : maxId) + IdGenerators.ALLOCATION_SIZE + 1;
+
+        int updated = jdbcTemplate.update(
+                "UPDATE " + IdGenerators.TABLE + " SET " + IdGenerators.VALUE_COLUMN + " = ? WHERE "
+                        + IdGenerators.NAME_COLUMN + " = ? AND " + IdGenerators.VALUE_COLUMN + " < ?",
+                floor, generator, floor);
+        if (updated > 0) {
+            log.info("Moved id generator '{}' to {}", generator, floor);
+            return;
+        }
+
+        Integer rows = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM " + IdGenerators.TABLE + " WHERE " + IdGenerators.NAME_COLUMN + " = ?",
+                Integer.class, generator);
+        if (rows != null && rows == 0) {
+            jdbcTemplate.update("INSERT INTO " + IdGenerators.TABLE + " (" + IdGenerators.NAME_COLUMN + ", "
+                    + IdGenerators.VALUE_COLUMN + ") VALUES (?, ?)", generator, floor);
+            log.info("Initialized id generator '{}' at {}", generator, floor);
+        }
+    }
+}
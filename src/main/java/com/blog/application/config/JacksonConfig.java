@@ -0,0 +1,16 @@
+package com.blog.application.config;
+
+import com.blog.application.util.FieldSelection;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    // Response DTOs are @JsonFilter'ed for ?fields=; outside MVC (e.g. exports) they serialize in full
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer fieldSelectionFilterCustomizer() {
+        return builder -> builder.filters(FieldSelection.all().toFilterProvider());
+    }
+}
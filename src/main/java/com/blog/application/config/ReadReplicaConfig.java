@@ -0,0 +1,86 @@
+package com.blog.application.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas, enabled with {@code app.datasource.replicas.enabled=true}.
+ * <p>
+ * {@code spring.datasource.*} stays the primary; each {@code app.datasource.replicas.nodes[i]}
+ * takes {@code url}, {@code username}, {@code password} and optionally {@code driver-class-name}.
+ * All pools share the {@code spring.datasource.hikari.*} settings, replica pools are read-only.
+ * Each pool publishes its own {@code hikaricp.*} metrics, tagged with its pool name.
+ * Read-only transactions are routed to a replica by {@link ReadWriteRoutingDataSource}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replicas.enabled", havingValue = "true")
+@Slf4j
+public class ReadReplicaConfig {
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(Environment environment) {
+        long stickyWindowMs = environment.getProperty("app.datasource.replicas.sticky-window-ms", Long.class, 5_000L);
+        long maxUsers = environment.getProperty("app.datasource.replicas.sticky-max-users", Long.class, 100_000L);
+        return new ReadYourWritesTracker(stickyWindowMs, maxUsers);
+    }
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties primaryProperties,
+                                 ReadYourWritesTracker readYourWritesTracker,
+                                 Environment environment,
+                                 MeterRegistry meterRegistry) {
+        Binder binder = Binder.get(environment);
+        HikariDataSource primary = createPool(primaryProperties, binder, "primary", meterRegistry);
+
+        List<DataSourceProperties> nodes = binder
+                .bind("app.datasource.replicas.nodes", Bindable.listOf(DataSourceProperties.class))
+                .orElse(List.of());
+        List<DataSource> replicas = new ArrayList<>(nodes.size());
+        for (int i = 0; i < nodes.size(); i++) {
+            HikariDataSource replica = createPool(nodes.get(i), binder,
+                    ReadWriteRoutingDataSource.REPLICA_PREFIX + i, meterRegistry);
+            replica.setReadOnly(true);
+            replicas.add(replica);
+        }
+        if (replicas.isEmpty()) {
+            log.warn("app.datasource.replicas.enabled is set but no replicas are configured; all reads use the primary");
+        } else {
+            log.info("Routing read-only transactions to {} replica(s)", replicas.size());
+        }
+
+        return new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(primary, replicas, readYourWritesTracker));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pools.forEach(HikariDataSource::close);
+    }
+
+    // Boot only instruments a DataSource bean it can unwrap to a single Hikari pool, not the pools behind the router
+    private HikariDataSource createPool(DataSourceProperties properties, Binder binder, String poolName,
+                                        MeterRegistry meterRegistry) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(poolName);
+        pool.setMetricRegistry(meterRegistry);
+        pools.add(pool);
+        return pool;
+    }
+}
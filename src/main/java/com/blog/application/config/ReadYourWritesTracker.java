@@ -0,0 +1,62 @@
+package com.blog.application.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * Users who committed a write in the last {@code app.datasource.replicas.sticky-window-ms}, so
+ * their reads stay on the primary until the replicas have caught up. Keyed by the authenticated
+ * username and held per instance; anonymous and background work is never sticky.
+ */
+public class ReadYourWritesTracker {
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesTracker(long stickyWindowMs, long maxUsers) {
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(Duration.ofMillis(stickyWindowMs))
+                .build();
+    }
+
+    /**
+     * Marks the current user once the surrounding transaction commits (right away without one).
+     */
+    public void recordWrite() {
+        String username = currentUsername();
+        if (username == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recentWriters.put(username, Boolean.TRUE);
+                }
+            });
+        } else {
+            recentWriters.put(username, Boolean.TRUE);
+        }
+    }
+
+    public boolean isSticky() {
+        String username = currentUsername();
+        return username != null && recentWriters.getIfPresent(username) != null;
+    }
+
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -2,7 +2,12 @@ package com.blog.application.config;
 
 import com.blog.application.security.JwtAuthenticationEntryPoint;
 import com.blog.application.security.JwtAuthenticationFilter;
+import com.blog.application.security.OffloadingPasswordEncoder;
+import com.blog.application.security.PasswordHashingExecutor;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -15,6 +20,7 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configuration.WebSecurityCustomizer;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -35,15 +41,22 @@ public class SecurityConfig {
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${app.security.bcrypt.strength:10}") int strength,
+                                           PasswordHashingExecutor passwordHashingExecutor,
+                                           MeterRegistry meterRegistry) {
+        return new OffloadingPasswordEncoder(new BCryptPasswordEncoder(strength), passwordHashingExecutor,
+                meterRegistry);
     }
 
     @Bean
-    public DaoAuthenticationProvider authenticationProvider() {
+    public DaoAuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
         provider.setUserDetailsService(userDetailsService);
-        provider.setPasswordEncoder(passwordEncoder());
+        provider.setPasswordEncoder(passwordEncoder);
+        // Re-hashes passwords stored with a lower cost than app.security.bcrypt.strength on login
+        if (userDetailsService instanceof UserDetailsPasswordService passwordService) {
+            provider.setUserDetailsPasswordService(passwordService);
+        }
         return provider;
     }
 
@@ -71,22 +84,29 @@ public class SecurityConfig {
     }
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http,
+                                           DaoAuthenticationProvider authenticationProvider) throws Exception {
         http.csrf(AbstractHttpConfigurer::disable)
             .exceptionHandling(exception -> 
                 exception.authenticationEntryPoint(jwtAuthenticationEntryPoint))
             .sessionManagement(session -> 
                 session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
+                // The request was authorized before it went async; the re-dispatch only completes the response
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                 // Public access
                 .requestMatchers(HttpMethod.GET, "/posts/**", "/comments/**").permitAll()
                 .requestMatchers("/auth/**", "/swagger-ui/**", "/api-docs/**", "/swagger-ui.html", "/h2-console/**").permitAll()
+                .requestMatchers("/actuator/health").permitAll()
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
+                .requestMatchers("/export/**", "/import/**").hasRole("ADMIN")
                 
                 // Everything else requires authentication
                 .anyRequest().authenticated()
             );
 
-        http.authenticationProvider(authenticationProvider());
+        http.authenticationProvider(authenticationProvider);
         http.addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
         http.headers(headers -> headers.frameOptions().disable()); // For H2 Console
 
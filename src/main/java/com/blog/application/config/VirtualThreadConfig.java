@@ -0,0 +1,98 @@
+package com.blog.application.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Virtual-thread request execution, enabled with {@code app.threads.virtual.enabled=true}.
+ * <p>
+ * Tomcat hands every request to a new virtual thread instead of its bounded platform pool, so
+ * blocking JPA calls no longer cap concurrency at {@code server.tomcat.threads.max}. Spring's
+ * application task executor uses virtual threads too. Because nothing limits request
+ * concurrency any more, the {@code DataSource} is wrapped in a
+ * {@link ConcurrencyLimitingDataSource} sized by {@code app.threads.virtual.max-db-concurrency}.
+ * <p>
+ * The project still compiles for Java 17, so the executor is looked up reflectively; enabling
+ * this mode on an older runtime fails at startup.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.threads.virtual.enabled", havingValue = "true")
+@Slf4j
+public class VirtualThreadConfig {
+
+    private final ExecutorService virtualThreadExecutor = newVirtualThreadPerTaskExecutor();
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(virtualThreadExecutor);
+    }
+
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME, "taskExecutor"})
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(virtualThreadExecutor);
+    }
+
+    @Bean
+    public static BeanPostProcessor concurrencyLimitingDataSourcePostProcessor(Environment environment) {
+        int maxConcurrency = environment.getProperty("app.threads.virtual.max-db-concurrency", Integer.class, 10);
+        long acquireTimeoutMs = environment.getProperty("app.threads.virtual.db-acquire-timeout-ms", Long.class, 30_000L);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConcurrencyLimitingDataSource)) {
+                    log.info("Limiting concurrent connections of '{}' to {}", beanName, maxConcurrency);
+                    return new ConcurrencyLimitingDataSource(dataSource, maxConcurrency, acquireTimeoutMs);
+                }
+                return bean;
+            }
+        };
+    }
+
+    // Requests waiting here never reach the pool, so hikaricp.connections.pending misses them
+    @Bean
+    public MeterBinder concurrencyLimitMetrics(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof ConcurrencyLimitingDataSource limited) {
+                Gauge.builder("db.connections.limit.available", limited, ConcurrencyLimitingDataSource::getAvailablePermits)
+                        .description("Connection permits not currently checked out")
+                        .register(registry);
+                Gauge.builder("db.connections.limit.waiting", limited, ConcurrencyLimitingDataSource::getWaitingThreads)
+                        .description("Threads waiting for a connection permit")
+                        .register(registry);
+            }
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        virtualThreadExecutor.shutdown();
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("app.threads.virtual.enabled requires Java 21 or newer, running on "
+                    + Runtime.version(), e);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not create the virtual thread executor", e);
+        }
+    }
+}
@@ -4,14 +4,22 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import com.blog.application.dto.BulkCommentRequest;
+import com.blog.application.dto.CommentAcceptedResponse;
 import com.blog.application.dto.CommentRequest;
 import com.blog.application.dto.CommentResponse;
+import com.blog.application.dto.CursorPage;
+import com.blog.application.security.AuthenticatedUser;
+import com.blog.application.service.CommentIngestionQueue;
 import com.blog.application.service.CommentService;
+import com.blog.application.util.FieldSelection;
 
 import java.util.List;
 
@@ -22,25 +30,58 @@ import java.util.List;
 public class CommentController {
     
     private final CommentService commentService;
+    private final ObjectProvider<CommentIngestionQueue> ingestionQueue;
     
     @PostMapping
-    @Operation(summary = "Create a new comment", security = @SecurityRequirement(name = "bearer-jwt"))
-    public ResponseEntity<CommentResponse> createComment(@Valid @RequestBody CommentRequest request,
-                                                        Authentication authentication) {
-        CommentResponse response = commentService.createComment(request, authentication.getName());
+    @Operation(summary = "Create a new comment (202 with an ingestion id when write-behind ingestion is enabled)",
+            security = @SecurityRequirement(name = "bearer-jwt"))
+    public ResponseEntity<?> createComment(@Valid @RequestBody CommentRequest request,
+                                           Authentication authentication) {
+        CommentIngestionQueue queue = ingestionQueue.getIfAvailable();
+        if (queue != null) {
+            CommentAcceptedResponse accepted = queue.accept(request, AuthenticatedUser.from(authentication));
+            return new ResponseEntity<>(accepted, HttpStatus.ACCEPTED);
+        }
+        CommentResponse response = commentService.createComment(request, AuthenticatedUser.from(authentication));
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
     
+    @PostMapping("/bulk")
+    @Operation(summary = "Create up to 500 comments in one request", security = @SecurityRequirement(name = "bearer-jwt"))
+    public ResponseEntity<List<CommentResponse>> createComments(@Valid @RequestBody BulkCommentRequest request,
+                                                                Authentication authentication) {
+        List<CommentResponse> responses = commentService.createComments(request.getComments(),
+                AuthenticatedUser.from(authentication));
+        return new ResponseEntity<>(responses, HttpStatus.CREATED);
+    }
+    
     @GetMapping
-    @Operation(summary = "Get comments by post ID")
-    public ResponseEntity<List<CommentResponse>> getCommentsByPostId(@RequestParam Long postId) {
+    @Operation(summary = "Get the newest comments of a post (capped at the maximum page size)")
+    public ResponseEntity<List<CommentResponse>> getCommentsByPostId(@RequestParam Long postId,
+                                                                     @RequestParam(required = false) String fields,
+                                                                     WebRequest webRequest) {
+        FieldSelection.parse(fields, CommentResponse.class).bindTo(webRequest);
         List<CommentResponse> comments = commentService.getCommentsByPostId(postId);
         return ResponseEntity.ok(comments);
     }
     
+    @GetMapping(params = "cursor")
+    @Operation(summary = "Get comments by post ID with cursor pagination (send an empty cursor for the first page)")
+    public ResponseEntity<CursorPage<CommentResponse>> getCommentPage(@RequestParam Long postId,
+                                                                      @RequestParam String cursor,
+                                                                      @RequestParam(required = false) Integer size,
+                                                                      @RequestParam(required = false) String fields,
+                                                                      WebRequest webRequest) {
+        FieldSelection.parse(fields, CommentResponse.class).bindTo(webRequest);
+        return ResponseEntity.ok(commentService.getCommentPage(postId, cursor, size));
+    }
+    
     @GetMapping("/{id}")
     @Operation(summary = "Get comment by ID")
-    public ResponseEntity<CommentResponse> getCommentById(@PathVariable Long id) {
+    public ResponseEntity<CommentResponse> getCommentById(@PathVariable Long id,
+                                                          @RequestParam(required = false) String fields,
+                                                          WebRequest webRequest) {
+        FieldSelection.parse(fields, CommentResponse.class).bindTo(webRequest);
         CommentResponse response = commentService.getCommentById(id);
         return ResponseEntity.ok(response);
     }
@@ -50,14 +91,14 @@ public class CommentController {
     public ResponseEntity<CommentResponse> updateComment(@PathVariable Long id,
                                                         @Valid @RequestBody CommentRequest request,
                                                         Authentication authentication) {
-        CommentResponse response = commentService.updateComment(id, request, authentication.getName());
+        CommentResponse response = commentService.updateComment(id, request, AuthenticatedUser.from(authentication));
         return ResponseEntity.ok(response);
     }
     
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete comment", security = @SecurityRequirement(name = "bearer-jwt"))
     public ResponseEntity<Void> deleteComment(@PathVariable Long id, Authentication authentication) {
-        commentService.deleteComment(id, authentication.getName());
+        commentService.deleteComment(id, AuthenticatedUser.from(authentication));
         return ResponseEntity.noContent().build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.blog.application.controller;
+
+import com.blog.application.service.ExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/export")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Export", description = "Streaming NDJSON export of the whole corpus (admin only)")
+public class ExportController {
+
+    private final ExportService exportService;
+
+    @GetMapping(value = "/posts", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export all posts, one JSON object per line", security = @SecurityRequirement(name = "bearer-jwt"))
+    public ResponseEntity<StreamingResponseBody> exportPosts() {
+        return ndjson("posts.ndjson", out -> {
+            long rows = exportService.exportPosts(out);
+            log.info("Exported {} posts", rows);
+        });
+    }
+
+    @GetMapping(value = "/comments", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export all comments, one line per post with its comments",
+            security = @SecurityRequirement(name = "bearer-jwt"))
+    public ResponseEntity<StreamingResponseBody> exportComments() {
+        return ndjson("comments.ndjson", out -> {
+            long rows = exportService.exportComments(out);
+            log.info("Exported {} comments", rows);
+        });
+    }
+
+    // No Content-Length, so the body goes out chunked as the service flushes
+    private static ResponseEntity<StreamingResponseBody> ndjson(String filename, StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+}
@@ -0,0 +1,51 @@
+package com.blog.application.controller;
+
+import com.blog.application.dto.ImportReport;
+import com.blog.application.service.ImportService;
+import com.blog.application.service.ImportType;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+@RestController
+@RequestMapping("/import")
+@RequiredArgsConstructor
+@Tag(name = "Import", description = "Streaming bulk import from NDJSON or CSV (admin only)")
+public class ImportController {
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    private final ImportService importService;
+
+    @PostMapping(value = "/{type}", consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"})
+    @Operation(summary = "Import users, posts or comments; the body is read as a stream and a report is returned",
+            security = @SecurityRequirement(name = "bearer-jwt"))
+    public ResponseEntity<ImportReport> importRows(@PathVariable String type,
+                                                   @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                   InputStream body) throws IOException {
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        ImportService.Format format = TEXT_CSV.isCompatibleWith(mediaType)
+                ? ImportService.Format.CSV
+                : ImportService.Format.NDJSON;
+        Charset charset = mediaType.getCharset() != null ? mediaType.getCharset() : StandardCharsets.UTF_8;
+
+        ImportReport report = importService.importRows(ImportType.fromPath(type), format,
+                new InputStreamReader(body, charset));
+        return ResponseEntity.ok(report);
+    }
+}
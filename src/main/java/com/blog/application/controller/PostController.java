@@ -1,8 +1,14 @@
 package com.blog.application.controller;
 
+import com.blog.application.dto.BulkPostRequest;
+import com.blog.application.dto.CursorPage;
 import com.blog.application.dto.PostRequest;
 import com.blog.application.dto.PostResponse;
+import com.blog.application.dto.PostSummaryResponse;
+import com.blog.application.security.AuthenticatedUser;
 import com.blog.application.service.PostService;
+import com.blog.application.util.FieldSelection;
+import com.blog.application.util.ResourceVersion;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -15,10 +21,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
 
 @RestController
 @RequestMapping("/posts")
@@ -32,22 +42,61 @@ public class PostController {
     @Operation(summary = "Create a new post", security = @SecurityRequirement(name = "bearer-jwt"))
     public ResponseEntity<PostResponse> createPost(@Valid @RequestBody PostRequest request,
                                                    Authentication authentication) {
-        PostResponse response = postService.createPost(request, authentication.getName());
+        PostResponse response = postService.createPost(request, AuthenticatedUser.from(authentication));
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    @PostMapping("/bulk")
+    @Operation(summary = "Create up to 500 posts in one request", security = @SecurityRequirement(name = "bearer-jwt"))
+    public ResponseEntity<List<PostResponse>> createPosts(@Valid @RequestBody BulkPostRequest request,
+                                                          Authentication authentication) {
+        List<PostResponse> responses = postService.createPosts(request.getPosts(), AuthenticatedUser.from(authentication));
+        return new ResponseEntity<>(responses, HttpStatus.CREATED);
+    }
+
     @GetMapping
     @Operation(summary = "Get all posts with pagination")
-    public ResponseEntity<Page<PostResponse>> getAllPosts(@RequestParam(defaultValue = "0") int page,
-                                                          @RequestParam(defaultValue = "10") int size) {
-        Pageable pageable = PageRequest.of(page, size);
-        return ResponseEntity.ok(postService.getAllPosts(pageable));
+    public ResponseEntity<Page<PostSummaryResponse>> getAllPosts(@RequestParam(defaultValue = "0") int page,
+                                                                 @RequestParam(defaultValue = "10") int size,
+                                                                 @RequestParam(required = false) String fields,
+                                                                 WebRequest webRequest) {
+        FieldSelection.parse(fields, PostSummaryResponse.class).bindTo(webRequest);
+        // The page is read first and its rows are the validator, so a 304 still costs the page
+        // query but runs the count only once
+        Page<PostSummaryResponse> posts = postService.getAllPosts(PageRequest.of(page, size));
+        ResourceVersion version = postService.getPostsVersion(posts);
+        if (webRequest.checkNotModified(version.getEtag(), version.getLastModified())) {
+            return null;
+        }
+        return revalidated(posts);
+    }
+
+    @GetMapping(params = "cursor")
+    @Operation(summary = "Get posts with cursor pagination (send an empty cursor for the first page)")
+    public ResponseEntity<CursorPage<PostSummaryResponse>> getPostFeed(@RequestParam String cursor,
+                                                                       @RequestParam(defaultValue = "10") int size,
+                                                                       @RequestParam(required = false) String fields,
+                                                                       WebRequest webRequest) {
+        FieldSelection.parse(fields, PostSummaryResponse.class).bindTo(webRequest);
+        ResourceVersion version = postService.getFeedVersion(cursor, size);
+        if (webRequest.checkNotModified(version.getEtag(), version.getLastModified())) {
+            return null;
+        }
+        return revalidated(postService.getPostFeed(cursor, size));
     }
 
     @GetMapping("/{id}")
-    @Operation(summary = "Get post by ID")
-    public ResponseEntity<PostResponse> getPostById(@PathVariable Long id) {
-        return ResponseEntity.ok(postService.getPostById(id));
+    @Operation(summary = "Get post by ID (?fields= without content skips reading the post body)")
+    public ResponseEntity<PostResponse> getPostById(@PathVariable Long id,
+                                                    @RequestParam(required = false) String fields,
+                                                    WebRequest webRequest) {
+        FieldSelection selection = FieldSelection.parse(fields, PostResponse.class).bindTo(webRequest);
+        // Cheap validator query first; a matching If-None-Match/If-Modified-Since ends here with 304
+        ResourceVersion version = postService.getPostVersion(id);
+        if (webRequest.checkNotModified(version.getEtag(), version.getLastModified())) {
+            return null;
+        }
+        return revalidated(postService.getPostById(id, selection));
     }
 
     @PutMapping("/{id}")
@@ -55,22 +104,31 @@ public class PostController {
     public ResponseEntity<PostResponse> updatePost(@PathVariable Long id,
                                                    @Valid @RequestBody PostRequest request,
                                                    Authentication authentication) {
-        return ResponseEntity.ok(postService.updatePost(id, request, authentication.getName()));
+        return ResponseEntity.ok(postService.updatePost(id, request, AuthenticatedUser.from(authentication)));
     }
 
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete post", security = @SecurityRequirement(name = "bearer-jwt"))
     public ResponseEntity<Void> deletePost(@PathVariable Long id, Authentication authentication) {
-        postService.deletePost(id, authentication.getName());
+        postService.deletePost(id, AuthenticatedUser.from(authentication));
         return ResponseEntity.noContent().build();
     }
 
     @GetMapping("/search")
     @Operation(summary = "Search posts by keyword")
-    public ResponseEntity<Page<PostResponse>> searchPosts(@RequestParam String keyword,
-                                                          @RequestParam(defaultValue = "0") int page,
-                                                          @RequestParam(defaultValue = "10") int size) {
+    public ResponseEntity<Page<PostSummaryResponse>> searchPosts(@RequestParam String keyword,
+                                                                 @RequestParam(defaultValue = "0") int page,
+                                                                 @RequestParam(defaultValue = "10") int size,
+                                                                 @RequestParam(required = false) String fields,
+                                                                 WebRequest webRequest) {
+        FieldSelection.parse(fields, PostSummaryResponse.class).bindTo(webRequest);
         Pageable pageable = PageRequest.of(page, size);
         return ResponseEntity.ok(postService.searchPosts(keyword, pageable));
     }
+
+    // checkNotModified has already set ETag/Last-Modified; no-cache lets clients and CDNs store the
+    // body but revalidate on every use (and keeps Spring Security from sending no-store)
+    private static <T> ResponseEntity<T> revalidated(T body) {
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(body);
+    }
 }
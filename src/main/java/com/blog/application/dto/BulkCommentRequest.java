@@ -0,0 +1,19 @@
+package com.blog.application.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCommentRequest {
+    @NotEmpty(message = "At least one comment is required")
+    @Size(max = 500, message = "At most 500 comments per request")
+    private List<@Valid CommentRequest> comments;
+}
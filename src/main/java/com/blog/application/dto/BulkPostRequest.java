@@ -0,0 +1,19 @@
+package com.blog.application.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkPostRequest {
+    @NotEmpty(message = "At least one post is required")
+    @Size(max = 500, message = "At most 500 posts per request")
+    private List<@Valid PostRequest> posts;
+}
@@ -0,0 +1,16 @@
+package com.blog.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommentAcceptedResponse {
+    private String ingestionId;
+    private Long postId;
+    private LocalDateTime acceptedAt;
+}
@@ -1,11 +1,14 @@
 package com.blog.application.dto;
 
+import com.blog.application.util.FieldSelection;
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
+@JsonFilter(FieldSelection.FILTER_ID)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
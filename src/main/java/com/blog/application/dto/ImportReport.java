@@ -0,0 +1,31 @@
+package com.blog.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class ImportReport {
+    private String type;
+    private long rowsRead;
+    private long imported;
+    private long rejected;
+    private int batches;
+    private long durationMs;
+
+    // First rejections only; errorsTruncated is set when more rows were rejected than reported
+    private List<RowError> errors = new ArrayList<>();
+    private boolean errorsTruncated;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private long line;
+        private String reason;
+    }
+}
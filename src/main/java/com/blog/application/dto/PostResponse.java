@@ -1,8 +1,11 @@
 package com.blog.application.dto;
 
+import com.blog.application.util.FieldSelection;
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.Data;
 import java.time.LocalDateTime;
 
+@JsonFilter(FieldSelection.FILTER_ID)
 @Data
 public class PostResponse {
     private Long id;
@@ -0,0 +1,24 @@
+package com.blog.application.dto;
+
+import com.blog.application.util.FieldSelection;
+import com.fasterxml.jackson.annotation.JsonFilter;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// List view of a post: the full content is only returned by GET /posts/{id}
+@JsonFilter(FieldSelection.FILTER_ID)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostSummaryResponse {
+    private Long id;
+    private String title;
+    private String excerpt;
+    private String authorUsername;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private long commentCount;
+}
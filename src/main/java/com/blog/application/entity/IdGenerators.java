@@ -0,0 +1,17 @@
+package com.blog.application.entity;
+
+/**
+ * Shared settings of the table-backed id generators. Ids are handed out in blocks of
+ * {@link #ALLOCATION_SIZE} per round trip to {@link #TABLE}, so Hibernate knows ids before
+ * inserting and can batch the INSERTs (IDENTITY columns disable JDBC batching).
+ */
+public final class IdGenerators {
+
+    public static final String TABLE = "id_generators";
+    public static final String NAME_COLUMN = "sequence_name";
+    public static final String VALUE_COLUMN = "next_val";
+    public static final int ALLOCATION_SIZE = 50;
+
+    private IdGenerators() {
+    }
+}
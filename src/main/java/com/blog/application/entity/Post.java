@@ -5,6 +5,8 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -13,14 +15,22 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "posts")
+@Table(name = "posts", indexes = {
+    @Index(name = "idx_posts_created_at_id", columnList = "created_at, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @EntityListeners(AuditingEntityListener.class)
+@DynamicUpdate // editing a post must not write back a stale comment_count
 public class Post {
+    public static final int EXCERPT_LENGTH = 200;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "post_ids")
+    @TableGenerator(name = "post_ids", table = IdGenerators.TABLE, pkColumnName = IdGenerators.NAME_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "posts",
+            allocationSize = IdGenerators.ALLOCATION_SIZE)
     private Long id;
     
     @Column(nullable = false)
@@ -28,6 +38,10 @@ public class Post {
     
     @Column(nullable = false, columnDefinition = "TEXT")
     private String content;
+
+    // Derived from content on every write; list queries read this instead of the TEXT column
+    @Column(name = "excerpt", length = EXCERPT_LENGTH + 1)
+    private String excerpt;
     
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "author_id", nullable = false)
@@ -41,6 +55,43 @@ public class Post {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    // Maintained by atomic increments in CommentService; repaired by CommentCountReconciler
+    @ColumnDefault("0")
+    @Column(name = "comment_count", nullable = false)
+    private long commentCount;
+
+    // Set whenever comment_count changes, so comment activity moves the post's Last-Modified
+    @Column(name = "comments_changed_at")
+    private LocalDateTime commentsChangedAt;
+    
     @OneToMany(mappedBy = "post", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Comment> comments;
+
+    @PrePersist
+    @PreUpdate
+    void refreshExcerpt() {
+        excerpt = excerptOf(content);
+    }
+
+    /**
+     * The first {@link #EXCERPT_LENGTH} characters of {@code content} with whitespace collapsed,
+     * cut at a word boundary when one is near and marked with an ellipsis when shortened.
+     */
+    public static String excerptOf(String content) {
+        if (content == null) {
+            return null;
+        }
+        String text = content.strip().replaceAll("\\s+", " ");
+        if (text.length() <= EXCERPT_LENGTH) {
+            return text;
+        }
+        int end = text.lastIndexOf(' ', EXCERPT_LENGTH);
+        if (end < EXCERPT_LENGTH / 2) {
+            end = EXCERPT_LENGTH;
+            if (Character.isHighSurrogate(text.charAt(end - 1))) {
+                end--;
+            }
+        }
+        return text.substring(0, end).stripTrailing() + "\u2026";
+    }
 }
\ No newline at end of file
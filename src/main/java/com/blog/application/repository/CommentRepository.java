@@ -1,17 +1,60 @@
 package com.blog.application.repository;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import com.blog.application.entity.Comment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
+    @EntityGraph(attributePaths = "author")
     List<Comment> findByPostIdOrderByCreatedAtDesc(Long postId);
 
+    @EntityGraph(attributePaths = "author")
     List<Comment> findByAuthorIdOrderByCreatedAtDesc(Long authorId);
 
+    // One comment and its author in a single select: GET /comments/{id}, update and delete
+    @EntityGraph(attributePaths = "author")
+    Optional<Comment> findWithAuthorById(Long id);
+
+    // Keyset pages over idx_comments_post_created_at_id, author fetched in the same query
+    @Query("SELECT c FROM Comment c JOIN FETCH c.author WHERE c.post.id = :postId " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    List<Comment> findPageByPostId(@Param("postId") Long postId, Pageable pageable);
+
+    @Query("SELECT c FROM Comment c JOIN FETCH c.author WHERE c.post.id = :postId " +
+           "AND (c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id)) " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    List<Comment> findPageByPostIdAfter(@Param("postId") Long postId,
+                                        @Param("createdAt") LocalDateTime createdAt,
+                                        @Param("id") Long id,
+                                        Pageable pageable);
+
     long countByPostId(Long postId); // ✅ FIXED: changed from int to long
+
+    // One grouped query for a whole page of posts; posts without comments are absent from the result
+    @Query("SELECT c.post.id AS postId, COUNT(c) AS commentCount FROM Comment c " +
+           "WHERE c.post.id IN :postIds GROUP BY c.post.id")
+    List<PostCommentCount> countByPostIds(@Param("postIds") Collection<Long> postIds);
+
+    // Export cursor ordered along idx_comments_post_created_at_id, so each post's comments are contiguous
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c FROM Comment c JOIN FETCH c.author ORDER BY c.post.id, c.createdAt, c.id")
+    Stream<Comment> streamAllOrderByPost();
 }
@@ -0,0 +1,9 @@
+package com.blog.application.repository;
+
+/**
+ * Projection returned by the grouped comment-count query, one row per post.
+ */
+public interface PostCommentCount {
+    Long getPostId();
+    long getCommentCount();
+}
@@ -0,0 +1,9 @@
+package com.blog.application.repository;
+
+/**
+ * Projection of a post's body, read when deriving columns from it.
+ */
+public interface PostContent {
+    Long getId();
+    String getContent();
+}
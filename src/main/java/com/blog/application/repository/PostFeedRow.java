@@ -0,0 +1,17 @@
+package com.blog.application.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Summary columns of a post plus {@code comments_changed_at}, as loaded into the hot feed window.
+ */
+public interface PostFeedRow {
+    Long getId();
+    String getTitle();
+    String getExcerpt();
+    String getAuthorUsername();
+    LocalDateTime getCreatedAt();
+    LocalDateTime getUpdatedAt();
+    long getCommentCount();
+    LocalDateTime getCommentsChangedAt();
+}
@@ -2,22 +2,127 @@ package com.blog.application.repository;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.blog.application.dto.PostSummaryResponse;
 import com.blog.application.entity.Post;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface PostRepository extends JpaRepository<Post, Long> {
-    Page<Post> findAllByOrderByCreatedAtDesc(Pageable pageable);
+    @EntityGraph(attributePaths = "author")
     List<Post> findByAuthorIdOrderByCreatedAtDesc(Long authorId);
+    List<Post> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    // One post and its author in a single select: GET /posts/{id}, update and delete
+    @EntityGraph(attributePaths = "author")
+    Optional<Post> findWithAuthorById(Long id);
+
+    // List endpoints read summaries: the excerpt column instead of the content TEXT, author joined in
+    String SUMMARY_SELECT = "SELECT new com.blog.application.dto.PostSummaryResponse(p.id, p.title, p.excerpt, " +
+            "a.username, p.createdAt, p.updatedAt, p.commentCount) FROM Post p JOIN p.author a ";
+
+    @Query(value = SUMMARY_SELECT + "ORDER BY p.createdAt DESC",
+           countQuery = "SELECT COUNT(p) FROM Post p")
+    Page<PostSummaryResponse> findSummariesByOrderByCreatedAtDesc(Pageable pageable);
+
+    @Query(value = "SELECT p.id AS id, p.title AS title, p.excerpt AS excerpt, a.username AS authorUsername, " +
+                   "p.createdAt AS createdAt, p.updatedAt AS updatedAt, p.commentCount AS commentCount, " +
+                   "p.commentsChangedAt AS commentsChangedAt FROM Post p JOIN p.author a ORDER BY p.createdAt DESC",
+           countQuery = "SELECT COUNT(p) FROM Post p")
+    Page<PostFeedRow> findFeedRowsByOrderByCreatedAtDesc(Pageable pageable);
+
+    // Keyset pagination over idx_posts_created_at_id: no OFFSET and no count(*)
+    @Query(SUMMARY_SELECT + "ORDER BY p.createdAt DESC, p.id DESC")
+    List<PostSummaryResponse> findSummaryFeed(Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE p.createdAt < :createdAt " +
+           "OR (p.createdAt = :createdAt AND p.id < :id) ORDER BY p.createdAt DESC, p.id DESC")
+    List<PostSummaryResponse> findSummaryFeedAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                                   Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE p.id IN :ids")
+    List<PostSummaryResponse> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // GET /posts/{id} when the client did not ask for the content
+    @Query(SUMMARY_SELECT + "WHERE p.id = :id")
+    Optional<PostSummaryResponse> findSummaryById(@Param("id") Long id);
+
+    @Query(value = SUMMARY_SELECT + "WHERE LOWER(p.title) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
+                   "OR LOWER(p.content) LIKE LOWER(CONCAT('%', :keyword, '%'))",
+           countQuery = "SELECT COUNT(p) FROM Post p WHERE LOWER(p.title) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
+                        "OR LOWER(p.content) LIKE LOWER(CONCAT('%', :keyword, '%'))")
+    Page<PostSummaryResponse> searchSummaries(@Param("keyword") String keyword, Pageable pageable);
+
+    // Posts written before the excerpt column existed; filled in by PostExcerptBackfill
+    @Query("SELECT p.id AS id, p.content AS content FROM Post p WHERE p.excerpt IS NULL AND p.id > :afterId ORDER BY p.id")
+    List<PostContent> findMissingExcerpts(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Bulk update, so the backfill does not touch updated_at
+    @Transactional
+    @Modifying
+    @Query("UPDATE Post p SET p.excerpt = :excerpt WHERE p.id = :id")
+    int updateExcerpt(@Param("id") Long id, @Param("excerpt") String excerpt);
     
     @Query("SELECT p FROM Post p WHERE LOWER(p.title) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
            "OR LOWER(p.content) LIKE LOWER(CONCAT('%', :keyword, '%'))")
     Page<Post> findByTitleContainingIgnoreCaseOrContentContainingIgnoreCase(
             @Param("keyword") String keyword, Pageable pageable);
-}
\ No newline at end of file
+
+    // Validators for conditional GETs: a few columns, no entity or author loading
+    @Query("SELECT p.id AS id, p.updatedAt AS updatedAt, p.commentCount AS commentCount, " +
+           "p.commentsChangedAt AS commentsChangedAt FROM Post p WHERE p.id = :id")
+    Optional<PostVersion> findVersionById(@Param("id") Long id);
+
+    @Query("SELECT p.id AS id, p.updatedAt AS updatedAt, p.commentCount AS commentCount, " +
+           "p.commentsChangedAt AS commentsChangedAt FROM Post p ORDER BY p.createdAt DESC, p.id DESC")
+    List<PostVersion> findFeedVersions(Pageable pageable);
+
+    @Query("SELECT p.id AS id, p.updatedAt AS updatedAt, p.commentCount AS commentCount, " +
+           "p.commentsChangedAt AS commentsChangedAt FROM Post p WHERE p.createdAt < :createdAt " +
+           "OR (p.createdAt = :createdAt AND p.id < :id) ORDER BY p.createdAt DESC, p.id DESC")
+    List<PostVersion> findFeedVersionsAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                            Pageable pageable);
+
+    // Single atomic statement, safe under concurrent comment writes. The timestamp comes from the
+    // application clock, like the audited updatedAt it is compared with.
+    @Transactional
+    @Modifying
+    @Query("UPDATE Post p SET p.commentCount = p.commentCount + :delta, p.commentsChangedAt = :now " +
+           "WHERE p.id = :postId")
+    int adjustCommentCount(@Param("postId") Long postId, @Param("delta") long delta, @Param("now") LocalDateTime now);
+
+    @Query("SELECT p.id AS postId, p.commentCount AS commentCount FROM Post p WHERE p.id > :afterId ORDER BY p.id")
+    List<PostCommentCount> findStoredCommentCounts(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Post p SET p.commentCount = (SELECT COUNT(c) FROM Comment c WHERE c.post.id = p.id), " +
+           "p.commentsChangedAt = :now WHERE p.id IN :postIds")
+    int recalculateCommentCounts(@Param("postIds") Collection<Long> postIds, @Param("now") LocalDateTime now);
+
+    @Query("SELECT p.id FROM Post p WHERE p.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // Export cursor: rows arrive fetch-size at a time and are never snapshotted for dirty checking
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Post p JOIN FETCH p.author ORDER BY p.id")
+    Stream<Post> streamAllWithAuthor();
+}
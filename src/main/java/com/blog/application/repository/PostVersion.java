@@ -0,0 +1,14 @@
+package com.blog.application.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * The columns that change whenever a post's representation changes, used to build
+ * ETag/Last-Modified validators without loading the post.
+ */
+public interface PostVersion {
+    Long getId();
+    LocalDateTime getUpdatedAt();
+    long getCommentCount();
+    LocalDateTime getCommentsChangedAt();
+}
@@ -0,0 +1,9 @@
+package com.blog.application.repository;
+
+/**
+ * Projection resolving usernames to ids without loading the rest of the user row.
+ */
+public interface UserIdentity {
+    Long getId();
+    String getUsername();
+}
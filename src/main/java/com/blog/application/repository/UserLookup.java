@@ -0,0 +1,14 @@
+package com.blog.application.repository;
+
+import com.blog.application.entity.User;
+
+import java.util.Optional;
+
+public interface UserLookup {
+
+    /**
+     * Loads a user by natural id. Unlike {@link UserRepository#findByUsername}, a repeated lookup
+     * is answered from the second-level cache without touching the database.
+     */
+    Optional<User> findByNaturalUsername(String username);
+}
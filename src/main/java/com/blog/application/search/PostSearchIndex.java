@@ -0,0 +1,213 @@
+package com.blog.application.search;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.blog.application.entity.Post;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over post titles and contents.
+ * <p>
+ * Every query term must match (title or content); matches are ranked with BM25F, where the
+ * title field carries a configurable boost. The index is kept current by {@code PostService}
+ * and rebuilt from the database at startup by {@link PostSearchIndexInitializer}.
+ */
+@Component
+public class PostSearchIndex {
+
+    private static final class Posting {
+        int titleFrequency;
+        int contentFrequency;
+    }
+
+    private static final class Document {
+        final int titleLength;
+        final int contentLength;
+        final Set<String> terms;
+
+        Document(int titleLength, int contentLength, Set<String> terms) {
+            this.titleLength = titleLength;
+            this.contentLength = contentLength;
+            this.terms = terms;
+        }
+    }
+
+    private final Map<String, Map<Long, Posting>> postings = new HashMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long totalTitleLength;
+    private long totalContentLength;
+    private volatile boolean ready;
+
+    @Value("${app.search.title-weight:2.5}")
+    private double titleWeight = 2.5;
+
+    @Value("${app.search.bm25.k1:1.2}")
+    private double k1 = 1.2;
+
+    @Value("${app.search.bm25.b:0.75}")
+    private double b = 0.75;
+
+    public void index(Post post) {
+        index(post.getId(), post.getTitle(), post.getContent());
+    }
+
+    public void index(Long postId, String title, String content) {
+        List<String> titleTerms = SearchTokenizer.tokenize(title);
+        List<String> contentTerms = SearchTokenizer.tokenize(content);
+
+        Map<String, Posting> documentPostings = new HashMap<>();
+        for (String term : titleTerms) {
+            documentPostings.computeIfAbsent(term, t -> new Posting()).titleFrequency++;
+        }
+        for (String term : contentTerms) {
+            documentPostings.computeIfAbsent(term, t -> new Posting()).contentFrequency++;
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(postId);
+            documentPostings.forEach((term, posting) ->
+                    postings.computeIfAbsent(term, t -> new HashMap<>()).put(postId, posting));
+            documents.put(postId, new Document(titleTerms.size(), contentTerms.size(), documentPostings.keySet()));
+            totalTitleLength += titleTerms.size();
+            totalContentLength += contentTerms.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long postId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(postId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public SearchHits search(String query, int offset, int limit) {
+        Set<String> queryTerms = new LinkedHashSet<>(SearchTokenizer.tokenize(query));
+        if (queryTerms.isEmpty()) {
+            return new SearchHits(Collections.emptyList(), 0);
+        }
+
+        Map<Long, Double> scores;
+        lock.readLock().lock();
+        try {
+            scores = score(queryTerms);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Map.Entry<Long, Double>> ranked = new ArrayList<>(scores.entrySet());
+        // Ties go to the newer post, which has the larger id
+        ranked.sort(Map.Entry.<Long, Double>comparingByValue().reversed()
+                .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder())));
+
+        List<Long> page = new ArrayList<>();
+        for (int i = offset; i < ranked.size() && page.size() < limit; i++) {
+            page.add(ranked.get(i).getKey());
+        }
+        return new SearchHits(page, ranked.size());
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            totalTitleLength = 0;
+            totalContentLength = 0;
+            ready = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void markReady() {
+        ready = true;
+    }
+
+    private Map<Long, Double> score(Set<String> queryTerms) {
+        List<Map<Long, Posting>> termPostings = new ArrayList<>();
+        for (String term : queryTerms) {
+            Map<Long, Posting> matches = postings.get(term);
+            if (matches == null) {
+                return Collections.emptyMap();
+            }
+            termPostings.add(matches);
+        }
+        // Drive the intersection from the rarest term
+        termPostings.sort(Comparator.comparingInt(Map::size));
+
+        int documentCount = documents.size();
+        double averageTitleLength = Math.max(1.0, (double) totalTitleLength / documentCount);
+        double averageContentLength = Math.max(1.0, (double) totalContentLength / documentCount);
+
+        Map<Long, Double> scores = new HashMap<>();
+        candidates:
+        for (Long postId : termPostings.get(0).keySet()) {
+            Document document = documents.get(postId);
+            double score = 0;
+            for (Map<Long, Posting> matches : termPostings) {
+                Posting posting = matches.get(postId);
+                if (posting == null) {
+                    continue candidates;
+                }
+                double weightedFrequency =
+                        titleWeight * posting.titleFrequency
+                                / (1 - b + b * document.titleLength / averageTitleLength)
+                        + posting.contentFrequency
+                                / (1 - b + b * document.contentLength / averageContentLength);
+                double idf = Math.log(1 + (documentCount - matches.size() + 0.5) / (matches.size() + 0.5));
+                score += idf * weightedFrequency * (k1 + 1) / (weightedFrequency + k1);
+            }
+            scores.put(postId, score);
+        }
+        return scores;
+    }
+
+    private void removeLocked(Long postId) {
+        Document previous = documents.remove(postId);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous.terms) {
+            Map<Long, Posting> matches = postings.get(term);
+            if (matches != null) {
+                matches.remove(postId);
+                if (matches.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+        totalTitleLength -= previous.titleLength;
+        totalContentLength -= previous.contentLength;
+    }
+}
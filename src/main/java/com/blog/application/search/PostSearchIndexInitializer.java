@@ -0,0 +1,52 @@
+package com.blog.application.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import com.blog.application.entity.Post;
+import com.blog.application.repository.PostRepository;
+
+import java.util.List;
+
+/**
+ * Builds the search index from the posts table once the application has started.
+ * Until it finishes, {@code PostService.searchPosts} keeps using the database query.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PostSearchIndexInitializer {
+
+    private final PostRepository postRepository;
+    private final PostSearchIndex postSearchIndex;
+
+    @Value("${app.search.rebuild.batch-size:1000}")
+    private int batchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        postSearchIndex.clear();
+
+        long afterId = 0L;
+        List<Post> batch;
+        do {
+            batch = postRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, batchSize));
+            for (Post post : batch) {
+                postSearchIndex.index(post);
+            }
+            if (!batch.isEmpty()) {
+                afterId = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == batchSize);
+
+        postSearchIndex.markReady();
+        log.info("Search index built with {} posts in {} ms",
+                postSearchIndex.size(), System.currentTimeMillis() - started);
+    }
+}
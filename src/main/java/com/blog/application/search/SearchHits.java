@@ -0,0 +1,16 @@
+package com.blog.application.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * One page of ranked search results: post ids in score order plus the total number of matches.
+ */
+@Getter
+@AllArgsConstructor
+public class SearchHits {
+    private final List<Long> postIds;
+    private final long totalHits;
+}
@@ -0,0 +1,103 @@
+package com.blog.application.security;
+
+import com.blog.application.entity.User;
+import com.blog.application.util.JwtUtil;
+import com.blog.application.util.VerifiedToken;
+import lombok.Getter;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Principal of an authenticated request. Built straight from the token claims on the hot path,
+ * or from the {@code users} row when a server-side check is configured.
+ * <p>
+ * Deliberately not a {@code CredentialsContainer}: instances may be cached, and Spring Security
+ * would otherwise erase the password of the cached copy after a login.
+ */
+@Getter
+public class AuthenticatedUser implements UserDetails {
+
+    private final Long id;
+    private final String username;
+    private final String password;
+    private final User.Role role;
+    // Only known when loaded from the users row; token principals carry no email
+    private final String email;
+    private final Collection<? extends GrantedAuthority> authorities;
+
+    public AuthenticatedUser(Long id, String username, String password, User.Role role) {
+        this(id, username, password, role, null);
+    }
+
+    public AuthenticatedUser(Long id, String username, String password, User.Role role, String email) {
+        this.id = id;
+        this.username = username;
+        this.password = password;
+        this.role = role;
+        this.email = email;
+        this.authorities = role != null
+                ? Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role.name()))
+                : Collections.emptyList();
+    }
+
+    public static AuthenticatedUser fromUser(User user) {
+        return new AuthenticatedUser(user.getId(), user.getUsername(), user.getPassword(), user.getRole(), user.getEmail());
+    }
+
+    /**
+     * Principal described by the {@code uid} and {@code role} claims, or null for tokens issued
+     * before those claims existed.
+     */
+    public static AuthenticatedUser fromToken(VerifiedToken token) {
+        Number userId = token.getClaim(JwtUtil.USER_ID_CLAIM, Number.class);
+        String role = token.getClaim(JwtUtil.ROLE_CLAIM, String.class);
+        if (userId == null || role == null) {
+            return null;
+        }
+        return new AuthenticatedUser(userId.longValue(), token.getSubject(), null, User.Role.valueOf(role));
+    }
+
+    /**
+     * The current principal. Falls back to a name-only principal (no id) when the request was
+     * authenticated some other way, e.g. by a test security context.
+     */
+    public static AuthenticatedUser from(Authentication authentication) {
+        if (authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user;
+        }
+        return new AuthenticatedUser(null, authentication.getName(), null, null);
+    }
+
+    public AuthenticatedUser withoutPassword() {
+        return password == null ? this : withPassword(null);
+    }
+
+    public AuthenticatedUser withPassword(String newPassword) {
+        return new AuthenticatedUser(id, username, newPassword, role, email);
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+}
@@ -0,0 +1,87 @@
+package com.blog.application.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Hashes passwords for bulk imports on a pool of its own, so an import neither waits behind
+ * logins on the {@link PasswordHashingExecutor} nor fills its queue and turns logins into 503s.
+ * A whole batch is hashed in parallel; the caller blocks until every hash is ready.
+ * <p>
+ * Sized by {@code app.import.password-hash-threads}; the default of 0 takes half the cores,
+ * leaving the rest for request traffic. Pool metrics are published under the
+ * {@code importPasswordHashing} executor name, hashing time as {@code auth.password.hash}
+ * with {@code operation=import}.
+ */
+@Component
+@Slf4j
+public class BulkPasswordHasher implements DisposableBean {
+
+    private final PasswordEncoder encoder;
+    private final ExecutorService executor;
+    private final Timer hashTimer;
+
+    public BulkPasswordHasher(@Value("${app.security.bcrypt.strength:10}") int strength,
+                              @Value("${app.import.password-hash-threads:0}") int threads,
+                              MeterRegistry meterRegistry) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("import-hash-");
+        threadFactory.setDaemon(true);
+        this.encoder = new BCryptPasswordEncoder(strength);
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry,
+                Executors.newFixedThreadPool(poolSize, threadFactory), "importPasswordHashing");
+        this.hashTimer = Timer.builder("auth.password.hash")
+                .description("Time spent hashing or verifying a password")
+                .tag("operation", "import")
+                .register(meterRegistry);
+        log.info("Import password hashing pool: {} threads", poolSize);
+    }
+
+    /**
+     * Returns the hashes of {@code rawPasswords}, in the same order.
+     */
+    public List<String> encodeAll(List<String> rawPasswords) {
+        List<Future<String>> futures = new ArrayList<>(rawPasswords.size());
+        for (String rawPassword : rawPasswords) {
+            futures.add(executor.submit(() -> hashTimer.record(() -> encoder.encode(rawPassword))));
+        }
+
+        List<String> hashes = new ArrayList<>(futures.size());
+        try {
+            for (Future<String> future : futures) {
+                hashes.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing imported passwords", e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+        return hashes;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
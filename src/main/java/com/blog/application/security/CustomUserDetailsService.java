@@ -2,47 +2,83 @@ package com.blog.application.security;
 
 import com.blog.application.entity.User;
 import com.blog.application.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.util.Collection;
-import java.util.Collections;
+import java.time.Duration;
 
+/**
+ * Loads users for login and for the server-side token check. Results are cached by username for
+ * a bounded time; concurrent misses for the same username share one query, and unknown usernames
+ * are not cached. {@link UserCacheInvalidationListener} evicts an entry whenever its row changes.
+ * <p>
+ * Hit/miss/load-time statistics are published as the {@code userDetails} cache metrics.
+ * <p>
+ * Also stores the re-hashed password when a login upgrades a hash to the configured BCrypt cost.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final Cache<String, AuthenticatedUser> cache;
+
+    public CustomUserDetailsService(UserRepository userRepository,
+                                    @Value("${app.users.cache.max-size:10000}") long maxSize,
+                                    @Value("${app.users.cache.ttl-ms:300000}") long ttlMs,
+                                    MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "userDetails");
+    }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        log.info("Loading user by username: {}", username);
-        
-        User user = userRepository.findByUsername(username)
+        return cache.get(username, this::loadFromDatabase);
+    }
+
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        AuthenticatedUser current = (AuthenticatedUser) user;
+        // Bulk update: skips the entity listener, so the cache is refreshed here
+        userRepository.updatePassword(current.getId(), newPassword);
+        AuthenticatedUser upgraded = current.withPassword(newPassword);
+        cache.put(upgraded.getUsername(), upgraded);
+        log.debug("Upgraded password hash for user: {}", upgraded.getUsername());
+        return upgraded;
+    }
+
+    /**
+     * Drops the cached entry for {@code username} so the next lookup reads the current row.
+     */
+    public void evict(String username) {
+        if (username != null) {
+            cache.invalidate(username);
+        }
+    }
+
+    private AuthenticatedUser loadFromDatabase(String username) {
+        log.debug("Loading user by username: {}", username);
+
+        User user = userRepository.findByNaturalUsername(username)
                 .orElseThrow(() -> {
                     log.warn("User not found: {}", username);
                     return new UsernameNotFoundException("User not found: " + username);
                 });
 
-        return new org.springframework.security.core.userdetails.User(
-                user.getUsername(),
-                user.getPassword(),
-                mapRolesToAuthorities(user.getRole())
-        );
-    }
-
-    private Collection<? extends GrantedAuthority> mapRolesToAuthorities(User.Role role) {
-        if (role == null) {
-            log.warn("User role is null!");
-            return Collections.emptyList();
-        }
-        return Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role.name()));
+        return AuthenticatedUser.fromUser(user);
     }
 }
@@ -1,13 +1,16 @@
 package com.blog.application.security;
 
 import com.blog.application.util.JwtUtil;
+import com.blog.application.util.VerifiedToken;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -19,40 +22,66 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 
+/**
+ * Authenticates requests carrying a bearer token.
+ * <p>
+ * Publishes {@code auth.jwt.verify} (parsing and signature verification, timed only on a
+ * {@link VerifiedTokenCache} miss) and {@code auth.user.lookup} (loading the user for tokens
+ * without identity claims, or when {@code app.jwt.stateless-principal} is off).
+ */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final Timer verifyTimer;
+    private final Timer userLookupTimer;
+
+    // When true, the principal comes from the token claims and no user row is read per request
+    @Value("${app.jwt.stateless-principal:true}")
+    private boolean statelessPrincipal;
+
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService,
+                                   VerifiedTokenCache verifiedTokenCache, MeterRegistry meterRegistry) {
+        this.jwtUtil = jwtUtil;
+        this.userDetailsService = userDetailsService;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.verifyTimer = Timer.builder("auth.jwt.verify")
+                .description("Time to parse a bearer token and verify its signature")
+                .register(meterRegistry);
+        this.userLookupTimer = Timer.builder("auth.user.lookup")
+                .description("Time to load the user behind a bearer token")
+                .register(meterRegistry);
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
 
-        System.out.println("=== Jwt Filter Executed ===");
-
         String token = getTokenFromRequest(request);
         log.debug("Authorization Header: {}", request.getHeader("Authorization"));
         log.debug("Extracted Token: {}", token);
 
         if (StringUtils.hasText(token)) {
             try {
-                String username = jwtUtil.getUsernameFromToken(token);
+                // Signature is verified once per token; later requests reuse the cached result
+                VerifiedToken verifiedToken = verifiedTokenCache.get(token,
+                        key -> verifyTimer.record(() -> jwtUtil.verify(key)));
+                String username = verifiedToken.getSubject();
                 log.debug("Username from token: {}", username);
 
                 if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                    log.debug("Loaded user: {}", userDetails.getUsername());
+                    AuthenticatedUser principal = resolvePrincipal(verifiedToken);
 
-                    if (jwtUtil.validateToken(token, userDetails)) {
+                    if (principal != null) {
                         log.debug("Token is valid for user: {}", username);
                         UsernamePasswordAuthenticationToken authToken =
                                 new UsernamePasswordAuthenticationToken(
-                                        userDetails,
+                                        principal,
                                         null,
-                                        userDetails.getAuthorities()
+                                        principal.getAuthorities()
                                 );
                         authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                         SecurityContextHolder.getContext().setAuthentication(authToken);
@@ -74,6 +103,30 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
     }
 
+    private AuthenticatedUser resolvePrincipal(VerifiedToken verifiedToken) {
+        if (verifiedToken.isExpired()) {
+            return null;
+        }
+
+        if (statelessPrincipal) {
+            AuthenticatedUser fromClaims = AuthenticatedUser.fromToken(verifiedToken);
+            if (fromClaims != null) {
+                return fromClaims;
+            }
+            // Token issued before the uid/role claims were added: fall through to a lookup
+        }
+
+        UserDetails userDetails = userLookupTimer.record(
+                () -> userDetailsService.loadUserByUsername(verifiedToken.getSubject()));
+        log.debug("Loaded user: {}", userDetails.getUsername());
+        if (!jwtUtil.validateToken(verifiedToken, userDetails)) {
+            return null;
+        }
+        return userDetails instanceof AuthenticatedUser user
+                ? user.withoutPassword()
+                : new AuthenticatedUser(null, userDetails.getUsername(), null, null);
+    }
+
     private String getTokenFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
@@ -0,0 +1,97 @@
+package com.blog.application.security;
+
+import com.blog.application.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Fixed-size pool that runs password hashing and verification off the request threads, so a
+ * burst of logins can use at most {@code threads} cores. The queue is bounded: when it is full,
+ * or the result is not ready within {@code max-wait-ms}, the caller gets a
+ * {@link ServiceUnavailableException} (503) immediately instead of piling up.
+ * <p>
+ * Pool metrics are published under the {@code passwordHashing} executor name.
+ */
+@Component
+@Slf4j
+public class PasswordHashingExecutor implements DisposableBean {
+
+    private static final String BUSY_MESSAGE = "Authentication is temporarily overloaded, please retry";
+
+    private final ExecutorService executor;
+    private final long maxWaitMs;
+    private final Counter rejections;
+
+    public PasswordHashingExecutor(@Value("${app.security.bcrypt.threads:0}") int threads,
+                                   @Value("${app.security.bcrypt.queue-capacity:100}") int queueCapacity,
+                                   @Value("${app.security.bcrypt.max-wait-ms:5000}") long maxWaitMs,
+                                   MeterRegistry meterRegistry) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("password-hash-");
+        threadFactory.setDaemon(true);
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, "passwordHashing");
+        this.maxWaitMs = maxWaitMs;
+        this.rejections = Counter.builder("auth.password.rejections")
+                .description("Password hashing requests rejected because the pool was saturated")
+                .register(meterRegistry);
+        log.info("Password hashing pool: {} threads, queue capacity {}", poolSize, queueCapacity);
+    }
+
+    /**
+     * Runs {@code task} on the pool and waits for its result. Runtime exceptions thrown by the
+     * task propagate unchanged.
+     */
+    public <T> T execute(Supplier<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task::get);
+        } catch (RejectedExecutionException e) {
+            rejections.increment();
+            throw new ServiceUnavailableException(BUSY_MESSAGE);
+        }
+
+        try {
+            return future.get(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejections.increment();
+            throw new ServiceUnavailableException(BUSY_MESSAGE);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException(BUSY_MESSAGE);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,44 @@
+package com.blog.application.security;
+
+import com.blog.application.entity.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Evicts a user's cached {@code UserDetails} when the row is updated or deleted, so a password
+ * or role change takes effect on the next lookup. The entry is dropped at flush time and again
+ * after commit, so a concurrent lookup cannot re-cache the old row while the transaction is open.
+ * <p>
+ * Instantiated by Hibernate through Spring's bean container; the service is resolved lazily
+ * because listeners are created while the entity manager factory is still being built.
+ */
+public class UserCacheInvalidationListener {
+
+    private final ObjectProvider<CustomUserDetailsService> userDetailsService;
+
+    public UserCacheInvalidationListener(ObjectProvider<CustomUserDetailsService> userDetailsService) {
+        this.userDetailsService = userDetailsService;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void onChange(User user) {
+        String username = user.getUsername();
+        evict(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(username);
+                }
+            });
+        }
+    }
+
+    private void evict(String username) {
+        userDetailsService.ifAvailable(service -> service.evict(username));
+    }
+}
@@ -0,0 +1,88 @@
+package com.blog.application.security;
+
+import com.blog.application.util.VerifiedToken;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Remembers bearer tokens that already passed signature verification, keyed by
+ * the SHA-256 digest of the token so raw tokens are never held in memory. An entry lives until
+ * the token expires or it is evicted by the size bound. Failed verifications are not cached.
+ * <p>
+ * Hit/miss/eviction counts are published as the {@code jwtVerifiedTokens} cache metrics.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final Cache<String, VerifiedToken> cache;
+
+    public VerifiedTokenCache(@Value("${app.jwt.cache.max-size:10000}") long maxSize,
+                              @Value("${app.jwt.expiration}") long maxLifetimeMs,
+                              MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new UntilTokenExpiry(TimeUnit.MILLISECONDS.toNanos(maxLifetimeMs)))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwtVerifiedTokens");
+    }
+
+    /**
+     * Returns the cached verification of {@code token}, or runs {@code verifier} once and caches its result.
+     * Exceptions thrown by the verifier propagate to the caller.
+     */
+    public VerifiedToken get(String token, Function<String, VerifiedToken> verifier) {
+        return cache.get(digest(token), key -> verifier.apply(token));
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class UntilTokenExpiry implements Expiry<String, VerifiedToken> {
+
+        private final long maxLifetimeNanos;
+
+        UntilTokenExpiry(long maxLifetimeNanos) {
+            this.maxLifetimeNanos = maxLifetimeNanos;
+        }
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+            Date expiration = token.getExpiration();
+            if (expiration == null) {
+                return maxLifetimeNanos;
+            }
+            long remainingMs = expiration.getTime() - System.currentTimeMillis();
+            return Math.max(0, Math.min(maxLifetimeNanos, TimeUnit.MILLISECONDS.toNanos(remainingMs)));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken token, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, token, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.blog.application.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.blog.application.repository.CommentRepository;
+import com.blog.application.repository.PostCommentCount;
+import com.blog.application.repository.PostRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Periodically compares the denormalized {@code posts.comment_count} column with the real
+ * number of comments and repairs any drift (e.g. rows written outside the application).
+ * Posts are scanned in id order, one batch at a time.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CommentCountReconciler {
+
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final PostResponseCache postResponseCache;
+
+    @Value("${app.comments.reconcile.batch-size:500}")
+    private int batchSize;
+
+    @Scheduled(initialDelayString = "${app.comments.reconcile.initial-delay-ms:60000}",
+               fixedDelayString = "${app.comments.reconcile.interval-ms:3600000}")
+    public void scheduledReconcile() {
+        int repaired = reconcile();
+        if (repaired > 0) {
+            log.warn("Repaired comment_count drift on {} posts", repaired);
+        }
+    }
+
+    public int reconcile() {
+        int repaired = 0;
+        long afterId = 0L;
+        List<PostCommentCount> stored;
+
+        do {
+            stored = postRepository.findStoredCommentCounts(afterId, PageRequest.of(0, batchSize));
+            if (stored.isEmpty()) {
+                break;
+            }
+
+            List<Long> postIds = stored.stream().map(PostCommentCount::getPostId).collect(Collectors.toList());
+            Map<Long, Long> actual = commentRepository.countByPostIds(postIds).stream()
+                    .collect(Collectors.toMap(PostCommentCount::getPostId, PostCommentCount::getCommentCount));
+
+            List<Long> drifted = stored.stream()
+                    .filter(row -> row.getCommentCount() != actual.getOrDefault(row.getPostId(), 0L))
+                    .map(PostCommentCount::getPostId)
+                    .collect(Collectors.toList());
+
+            if (!drifted.isEmpty()) {
+                log.debug("comment_count drift detected for posts {}", drifted);
+                // Recomputed inside the UPDATE itself, so concurrent comment writes cannot be lost
+                repaired += postRepository.recalculateCommentCounts(drifted, LocalDateTime.now());
+                postResponseCache.invalidateAll(drifted);
+            }
+
+            afterId = postIds.get(postIds.size() - 1);
+        } while (stored.size() == batchSize);
+
+        return repaired;
+    }
+}
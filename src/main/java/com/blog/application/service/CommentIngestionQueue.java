@@ -0,0 +1,261 @@
+package com.blog.application.service;
+
+import com.blog.application.dto.CommentAcceptedResponse;
+import com.blog.application.dto.CommentRequest;
+import com.blog.application.entity.Comment;
+import com.blog.application.exception.ResourceNotFoundException;
+import com.blog.application.exception.ServiceUnavailableException;
+import com.blog.application.repository.CommentRepository;
+import com.blog.application.repository.PostRepository;
+import com.blog.application.repository.UserRepository;
+import com.blog.application.security.AuthenticatedUser;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Write-behind path for comments, enabled with {@code app.comments.ingestion.enabled=true}.
+ * Accepted comments wait in a bounded queue and get an ingestion id right away (202); a single
+ * writer thread drains the queue and inserts up to {@code flush-size} comments per transaction,
+ * waiting at most {@code flush-interval-ms} for a batch to fill. Posts and authors are attached
+ * as references, so a batch costs its batched INSERTs plus one counter update per post.
+ * <p>
+ * A full queue is answered with 503. On shutdown the writer stops after the web server, and
+ * drains whatever is still queued before the connection pool closes.
+ */
+@Service
+@ConditionalOnProperty(name = "app.comments.ingestion.enabled", havingValue = "true")
+@Slf4j
+public class CommentIngestionQueue implements SmartLifecycle {
+
+    // Stop after the web server (MAX_VALUE - 2048) has stopped accepting requests
+    private static final int PHASE = Integer.MAX_VALUE - 4096;
+    private static final String FULL_MESSAGE = "Comment ingestion is temporarily overloaded, please retry";
+
+    private final CommentRepository commentRepository;
+    private final PostRepository postRepository;
+    private final UserRepository userRepository;
+    private final UserService userService;
+    private final PostResponseCache postResponseCache;
+    private final HotFeedCache hotFeedCache;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<PendingComment> queue;
+    private final int flushSize;
+    private final long flushIntervalNanos;
+    private final long drainTimeoutMs;
+    private final Counter written;
+    private final Counter rejected;
+    private final Counter dropped;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public CommentIngestionQueue(CommentRepository commentRepository,
+                                 PostRepository postRepository,
+                                 UserRepository userRepository,
+                                 UserService userService,
+                                 PostResponseCache postResponseCache,
+                                 HotFeedCache hotFeedCache,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${app.comments.ingestion.queue-capacity:10000}") int queueCapacity,
+                                 @Value("${app.comments.ingestion.flush-size:200}") int flushSize,
+                                 @Value("${app.comments.ingestion.flush-interval-ms:50}") long flushIntervalMs,
+                                 @Value("${app.comments.ingestion.drain-timeout-ms:20000}") long drainTimeoutMs,
+                                 MeterRegistry meterRegistry) {
+        this.commentRepository = commentRepository;
+        this.postRepository = postRepository;
+        this.userRepository = userRepository;
+        this.userService = userService;
+        this.postResponseCache = postResponseCache;
+        this.hotFeedCache = hotFeedCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.flushSize = flushSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        this.drainTimeoutMs = drainTimeoutMs;
+        Gauge.builder("comments.ingestion.queued", queue, BlockingQueue::size)
+                .description("Comments accepted but not yet written")
+                .register(meterRegistry);
+        this.written = counter(meterRegistry, "written", "Comments written by the ingestion writer");
+        this.rejected = counter(meterRegistry, "rejected", "Comments rejected because the queue was full");
+        this.dropped = counter(meterRegistry, "dropped", "Accepted comments that could not be written");
+    }
+
+    /**
+     * Queues the comment for the writer. Only the post's existence is checked here; the author
+     * comes from the token, so no entity is loaded on the request thread.
+     */
+    public CommentAcceptedResponse accept(CommentRequest request, AuthenticatedUser user) {
+        if (!running) {
+            throw new ServiceUnavailableException(FULL_MESSAGE);
+        }
+        if (!postRepository.existsById(request.getPostId())) {
+            throw new ResourceNotFoundException("Post not found with id: " + request.getPostId());
+        }
+
+        Long authorId = userService.getAuthorReference(user).getId();
+        PendingComment pending = new PendingComment(UUID.randomUUID().toString(), request.getPostId(),
+                authorId, request.getContent(), LocalDateTime.now());
+        if (!queue.offer(pending)) {
+            rejected.increment();
+            throw new ServiceUnavailableException(FULL_MESSAGE);
+        }
+        return new CommentAcceptedResponse(pending.ingestionId(), pending.postId(), pending.acceptedAt());
+    }
+
+    public int getQueuedCount() {
+        return queue.size();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writer = new Thread(this::drainLoop, "comment-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread current = writer;
+        if (current == null) {
+            return;
+        }
+        try {
+            current.join(drainTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (current.isAlive()) {
+            log.warn("Comment writer did not drain within {} ms, {} comments not written", drainTimeoutMs, queue.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private void drainLoop() {
+        List<PendingComment> batch = new ArrayList<>(flushSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                fillBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                write(batch);
+                batch.clear();
+            }
+        }
+        log.info("Comment writer stopped, queue drained");
+    }
+
+    /**
+     * Waits up to one flush interval for the first comment, then keeps collecting until the batch
+     * is full or the interval since that first comment has elapsed.
+     */
+    private void fillBatch(List<PendingComment> batch) throws InterruptedException {
+        PendingComment first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + flushIntervalNanos;
+        while (batch.size() < flushSize) {
+            if (queue.drainTo(batch, flushSize - batch.size()) > 0) {
+                continue;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (!running || remaining <= 0) {
+                return;
+            }
+            PendingComment next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    /**
+     * Writes the batch in one transaction. If that fails (e.g. a post was deleted after its
+     * comment was accepted), the comments are retried one by one so only the bad ones are lost.
+     */
+    void write(List<PendingComment> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> persist(batch));
+            written.increment(batch.size());
+            return;
+        } catch (RuntimeException e) {
+            log.warn("Batch of {} comments failed, retrying individually: {}", batch.size(), e.getMessage());
+        }
+
+        for (PendingComment pending : batch) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> persist(List.of(pending)));
+                written.increment();
+            } catch (RuntimeException e) {
+                dropped.increment();
+                log.error("Dropped comment {} for post {}: {}", pending.ingestionId(), pending.postId(), e.getMessage());
+            }
+        }
+    }
+
+    private void persist(List<PendingComment> batch) {
+        List<Comment> comments = new ArrayList<>(batch.size());
+        for (PendingComment pending : batch) {
+            Comment comment = new Comment();
+            comment.setContent(pending.content());
+            comment.setPost(postRepository.getReferenceById(pending.postId()));
+            comment.setAuthor(userRepository.getReferenceById(pending.authorId()));
+            comments.add(comment);
+        }
+        commentRepository.saveAll(comments);
+
+        Map<Long, Long> added = batch.stream()
+                .collect(Collectors.groupingBy(PendingComment::postId, Collectors.counting()));
+        LocalDateTime now = LocalDateTime.now();
+        added.forEach((postId, count) -> {
+            postRepository.adjustCommentCount(postId, count, now);
+            postResponseCache.invalidate(postId);
+            hotFeedCache.commentCountChanged(postId, count.intValue(), now);
+        });
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String outcome, String description) {
+        return Counter.builder("comments.ingestion")
+                .tag("outcome", outcome)
+                .description(description)
+                .register(meterRegistry);
+    }
+
+    record PendingComment(String ingestionId, Long postId, Long authorId, String content,
+                          LocalDateTime acceptedAt) {
+    }
+}
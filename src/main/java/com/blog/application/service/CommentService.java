@@ -1,19 +1,32 @@
 package com.blog.application.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.blog.application.dto.CommentRequest;
+import com.blog.application.dto.CursorPage;
 import com.blog.application.dto.CommentResponse;
 import com.blog.application.entity.Comment;
 import com.blog.application.entity.Post;
 import com.blog.application.entity.User;
+import com.blog.application.exception.BadRequestException;
 import com.blog.application.exception.ResourceNotFoundException;
 import com.blog.application.exception.UnauthorizedException;
 import com.blog.application.repository.CommentRepository;
 import com.blog.application.repository.PostRepository;
+import com.blog.application.security.AuthenticatedUser;
+import com.blog.application.util.KeysetCursor;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,68 +36,166 @@ public class CommentService {
     private final CommentRepository commentRepository;
     private final PostRepository postRepository;
     private final UserService userService;
+    private final PostResponseCache postResponseCache;
+    private final HotFeedCache hotFeedCache;
+
+    @Value("${app.comments.default-page-size:20}")
+    private int defaultPageSize;
+
+    @Value("${app.comments.max-page-size:100}")
+    private int maxPageSize;
     
-    public CommentResponse createComment(CommentRequest request, String username) {
-        User author = userService.findByUsername(username);
-        Post post = postRepository.findById(request.getPostId())
-                .orElseThrow(() -> new ResourceNotFoundException("Post not found with id: " + request.getPostId()));
+    @Transactional
+    public CommentResponse createComment(CommentRequest request, AuthenticatedUser user) {
+        User author = userService.getAuthorReference(user);
+        Long postId = request.getPostId();
+        if (!postRepository.existsById(postId)) {
+            throw new ResourceNotFoundException("Post not found with id: " + postId);
+        }
         
         Comment comment = new Comment();
         comment.setContent(request.getContent());
-        comment.setPost(post);
+        comment.setPost(postRepository.getReferenceById(postId));
         comment.setAuthor(author);
         
         Comment savedComment = commentRepository.save(comment);
-        return convertToResponse(savedComment);
+        LocalDateTime now = LocalDateTime.now();
+        postRepository.adjustCommentCount(postId, 1, now);
+        postResponseCache.invalidate(postId);
+        hotFeedCache.commentCountChanged(postId, 1, now);
+        return convertToResponse(savedComment, user.getUsername());
     }
     
+    /**
+     * Creates all comments in one transaction: one query checks the posts exist, the INSERTs go
+     * out as JDBC batches and each post's counter is adjusted once.
+     */
+    @Transactional
+    public List<CommentResponse> createComments(List<CommentRequest> requests, AuthenticatedUser user) {
+        User author = userService.getAuthorReference(user);
+        Set<Long> postIds = requests.stream().map(CommentRequest::getPostId).collect(Collectors.toSet());
+        Map<Long, Post> posts = postRepository.findAllById(postIds).stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+        for (Long postId : postIds) {
+            if (!posts.containsKey(postId)) {
+                throw new ResourceNotFoundException("Post not found with id: " + postId);
+            }
+        }
+        
+        List<Comment> comments = new ArrayList<>(requests.size());
+        for (CommentRequest request : requests) {
+            Comment comment = new Comment();
+            comment.setContent(request.getContent());
+            comment.setPost(posts.get(request.getPostId()));
+            comment.setAuthor(author);
+            comments.add(comment);
+        }
+        List<Comment> savedComments = commentRepository.saveAll(comments);
+        
+        Map<Long, Long> added = requests.stream()
+                .collect(Collectors.groupingBy(CommentRequest::getPostId, Collectors.counting()));
+        LocalDateTime now = LocalDateTime.now();
+        added.forEach((postId, count) -> {
+            postRepository.adjustCommentCount(postId, count, now);
+            postResponseCache.invalidate(postId);
+            hotFeedCache.commentCountChanged(postId, count.intValue(), now);
+        });
+        
+        return savedComments.stream()
+                .map(comment -> convertToResponse(comment, user.getUsername()))
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Newest comments of a post, capped at {@code app.comments.max-page-size}.
+     * Use {@link #getCommentPage} to walk the rest of the thread.
+     */
+    @Transactional(readOnly = true)
     public List<CommentResponse> getCommentsByPostId(Long postId) {
+        return getCommentPage(postId, null, maxPageSize).getContent();
+    }
+    
+    @Transactional(readOnly = true)
+    public CursorPage<CommentResponse> getCommentPage(Long postId, String cursor, Integer size) {
+        int pageSize = size != null ? size : defaultPageSize;
+        if (pageSize < 1 || pageSize > maxPageSize) {
+            throw new BadRequestException("Page size must be between 1 and " + maxPageSize);
+        }
         if (!postRepository.existsById(postId)) {
             throw new ResourceNotFoundException("Post not found with id: " + postId);
         }
         
-        return commentRepository.findByPostIdOrderByCreatedAtDesc(postId)
-                .stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        // One extra row tells us whether another page exists
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<Comment> comments;
+        if (cursor == null || cursor.isBlank()) {
+            comments = commentRepository.findPageByPostId(postId, limit);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            comments = commentRepository.findPageByPostIdAfter(postId, after.getCreatedAt(), after.getId(), limit);
+        }
+        
+        boolean hasNext = comments.size() > pageSize;
+        List<Comment> page = hasNext ? comments.subList(0, pageSize) : comments;
+        String nextCursor = null;
+        if (hasNext) {
+            Comment last = page.get(page.size() - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        
+        List<CommentResponse> content = page.stream().map(this::convertToResponse).collect(Collectors.toList());
+        return new CursorPage<>(content, pageSize, nextCursor, hasNext);
     }
     
+    @Transactional(readOnly = true)
     public CommentResponse getCommentById(Long id) {
-        Comment comment = commentRepository.findById(id)
+        Comment comment = commentRepository.findWithAuthorById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Comment not found with id: " + id));
         return convertToResponse(comment);
     }
     
-    public CommentResponse updateComment(Long id, CommentRequest request, String username) {
-        Comment comment = commentRepository.findById(id)
+    @Transactional
+    public CommentResponse updateComment(Long id, CommentRequest request, AuthenticatedUser user) {
+        Comment comment = commentRepository.findWithAuthorById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Comment not found with id: " + id));
         
-        if (!comment.getAuthor().getUsername().equals(username)) {
+        if (!UserService.isSameUser(comment.getAuthor(), user)) {
             throw new UnauthorizedException("You don't have permission to update this comment");
         }
         
         comment.setContent(request.getContent());
         Comment updatedComment = commentRepository.save(comment);
-        return convertToResponse(updatedComment);
+        return convertToResponse(updatedComment, user.getUsername());
     }
     
-    public void deleteComment(Long id, String username) {
-        Comment comment = commentRepository.findById(id)
+    @Transactional
+    public void deleteComment(Long id, AuthenticatedUser user) {
+        Comment comment = commentRepository.findWithAuthorById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Comment not found with id: " + id));
         
-        if (!comment.getAuthor().getUsername().equals(username)) {
+        if (!UserService.isSameUser(comment.getAuthor(), user)) {
             throw new UnauthorizedException("You don't have permission to delete this comment");
         }
         
+        Long postId = comment.getPost().getId();
         commentRepository.delete(comment);
+        LocalDateTime now = LocalDateTime.now();
+        postRepository.adjustCommentCount(postId, -1, now);
+        postResponseCache.invalidate(postId);
+        hotFeedCache.commentCountChanged(postId, -1, now);
     }
     
     private CommentResponse convertToResponse(Comment comment) {
+        return convertToResponse(comment, comment.getAuthor().getUsername());
+    }
+    
+    // Write paths pass the principal's name so the author proxy is never initialized
+    private CommentResponse convertToResponse(Comment comment, String authorUsername) {
         CommentResponse response = new CommentResponse();
         response.setId(comment.getId());
         response.setContent(comment.getContent());
         response.setPostId(comment.getPost().getId());
-        response.setAuthorUsername(comment.getAuthor().getUsername());
+        response.setAuthorUsername(authorUsername);
         response.setCreatedAt(comment.getCreatedAt());
         return response;
     }
@@ -0,0 +1,175 @@
+package com.blog.application.service;
+
+import com.blog.application.dto.CommentResponse;
+import com.blog.application.dto.PostResponse;
+import com.blog.application.entity.Comment;
+import com.blog.application.entity.Post;
+import com.blog.application.repository.CommentRepository;
+import com.blog.application.repository.PostRepository;
+import com.blog.application.util.MySqlCursorFetch;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Writes the whole corpus as NDJSON straight from a database cursor. Rows are read fetch-size at
+ * a time inside one read-only transaction, the persistence context is cleared every
+ * {@code clear-every} rows and the output is flushed at the same points, so memory use does not
+ * grow with the number of rows exported. On MySQL the cursor is enabled for the export's
+ * connection only, see {@link MySqlCursorFetch}.
+ */
+@Service
+@Slf4j
+public class ExportService {
+
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int clearEvery;
+
+    public ExportService(PostRepository postRepository,
+                         CommentRepository commentRepository,
+                         EntityManager entityManager,
+                         ObjectMapper objectMapper,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${app.export.clear-every:1000}") int clearEvery) {
+        this.postRepository = postRepository;
+        this.commentRepository = commentRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.clearEvery = clearEvery;
+    }
+
+    /**
+     * One line per post, in id order.
+     *
+     * @return the number of posts written
+     */
+    public long exportPosts(OutputStream out) throws IOException {
+        return inReadOnlyTransaction(out, generator -> {
+            long rows = 0;
+            try (Stream<Post> posts = postRepository.streamAllWithAuthor()) {
+                Iterator<Post> iterator = posts.iterator();
+                while (iterator.hasNext()) {
+                    generator.writeObject(toResponse(iterator.next()));
+                    generator.writeRaw('\n');
+                    if (++rows % clearEvery == 0) {
+                        release(generator);
+                    }
+                }
+            }
+            return rows;
+        });
+    }
+
+    /**
+     * One line per post that has comments: {@code {"postId":1,"comments":[...]}}, with the
+     * comments oldest first. The array is written as rows arrive, so a post with millions of
+     * comments is never held in memory either.
+     *
+     * @return the number of comments written
+     */
+    public long exportComments(OutputStream out) throws IOException {
+        return inReadOnlyTransaction(out, generator -> {
+            long rows = 0;
+            Long currentPostId = null;
+            try (Stream<Comment> comments = commentRepository.streamAllOrderByPost()) {
+                Iterator<Comment> iterator = comments.iterator();
+                while (iterator.hasNext()) {
+                    Comment comment = iterator.next();
+                    Long postId = comment.getPost().getId();
+                    if (!Objects.equals(postId, currentPostId)) {
+                        if (currentPostId != null) {
+                            endGroup(generator);
+                        }
+                        generator.writeStartObject();
+                        generator.writeNumberField("postId", postId);
+                        generator.writeArrayFieldStart("comments");
+                        currentPostId = postId;
+                    }
+                    generator.writeObject(toResponse(comment, postId));
+                    if (++rows % clearEvery == 0) {
+                        release(generator);
+                    }
+                }
+            }
+            if (currentPostId != null) {
+                endGroup(generator);
+            }
+            return rows;
+        });
+    }
+
+    private long inReadOnlyTransaction(OutputStream out, ExportWriter writer) throws IOException {
+        // The generator must not close the servlet stream; the container finishes the chunked response
+        try (JsonGenerator generator = objectMapper.createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            generator.setRootValueSeparator(null);
+            Long rows = readOnlyTransaction.execute(status -> {
+                // Restored before commit, while the connection is still this transaction's
+                try (MySqlCursorFetch.Restore ignored = entityManager.unwrap(Session.class)
+                        .doReturningWork(MySqlCursorFetch::enable)) {
+                    return writer.write(generator);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generator.flush();
+            return rows == null ? 0 : rows;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    // Detach everything read so far and push the buffered lines to the client as one chunk
+    private void release(JsonGenerator generator) throws IOException {
+        entityManager.clear();
+        generator.flush();
+    }
+
+    private static void endGroup(JsonGenerator generator) throws IOException {
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    private static PostResponse toResponse(Post post) {
+        PostResponse response = new PostResponse();
+        response.setId(post.getId());
+        response.setTitle(post.getTitle());
+        response.setContent(post.getContent());
+        response.setAuthorUsername(post.getAuthor().getUsername());
+        response.setCreatedAt(post.getCreatedAt());
+        response.setUpdatedAt(post.getUpdatedAt());
+        response.setCommentCount((int) post.getCommentCount());
+        return response;
+    }
+
+    // The post id comes from the foreign key, so the post proxy is never initialized
+    private static CommentResponse toResponse(Comment comment, Long postId) {
+        return new CommentResponse(comment.getId(), comment.getContent(), postId,
+                comment.getAuthor().getUsername(), comment.getCreatedAt());
+    }
+
+    @FunctionalInterface
+    private interface ExportWriter {
+        long write(JsonGenerator generator) throws IOException;
+    }
+}
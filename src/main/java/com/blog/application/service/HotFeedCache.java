@@ -0,0 +1,313 @@
+package com.blog.application.service;
+
+import com.blog.application.dto.PostSummaryResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * The newest {@code app.posts.feed-cache.window-size} posts, in feed order, so the first pages of
+ * {@code GET /posts} can be sliced from memory for any page size without touching the database.
+ * <p>
+ * Local writes patch the window in place after commit: a new post is prepended, an edit replaces
+ * its entry, a delete removes it and comment writes adjust the count. Anything else (other
+ * instances, the reconciler) becomes visible when the window is reloaded, which happens on the
+ * first read after {@code app.posts.feed-cache.max-staleness-ms}; that bounds how stale a served
+ * page can be.
+ * <p>
+ * A reload can read a write that is committed but not yet patched in, so every patch checks
+ * whether the window already reflects it instead of applying it twice.
+ * <p>
+ * Served and missed page requests are counted as {@code feed.cache.requests}.
+ */
+@Component
+public class HotFeedCache {
+
+    private static final int MAX_LOAD_ATTEMPTS = 3;
+
+    @Getter
+    private final int windowSize;
+    private final long maxStalenessNanos;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private final Object writeLock = new Object();
+    private final Counter hits;
+    private final Counter misses;
+
+    private volatile Window window;
+    // Guarded by writeLock; lets a reload detect writes that raced with its query
+    private long modifications;
+
+    public HotFeedCache(@Value("${app.posts.feed-cache.window-size:200}") int windowSize,
+                        @Value("${app.posts.feed-cache.max-staleness-ms:5000}") long maxStalenessMs,
+                        MeterRegistry meterRegistry) {
+        this.windowSize = windowSize;
+        this.maxStalenessNanos = TimeUnit.MILLISECONDS.toNanos(maxStalenessMs);
+        this.hits = Counter.builder("feed.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("feed.cache.requests").tag("result", "miss").register(meterRegistry);
+    }
+
+    /**
+     * The requested page sliced from the window, reloading the window through {@code loader} if
+     * it is missing or stale. Empty when the page lies outside the window, so the caller should
+     * query the database.
+     */
+    public Optional<Slice> getPage(Pageable pageable, Supplier<Snapshot> loader) {
+        if (pageable.isUnpaged() || pageable.getSort().isSorted()
+                || pageable.getOffset() + pageable.getPageSize() > windowSize) {
+            misses.increment();
+            return Optional.empty();
+        }
+
+        Window current = window;
+        if (current == null || current.isStale(System.nanoTime(), maxStalenessNanos)) {
+            current = reload(loader);
+        }
+
+        int from = (int) pageable.getOffset();
+        int to = from + pageable.getPageSize();
+        // Deletes shrink the window; a page reaching past it is only complete if nothing is left out
+        if (current == null || (to > current.entries.size() && current.entries.size() < current.total)) {
+            misses.increment();
+            return Optional.empty();
+        }
+
+        List<Entry> content = from >= current.entries.size()
+                ? List.of()
+                : current.entries.subList(from, Math.min(to, current.entries.size()));
+        hits.increment();
+        return Optional.of(new Slice(content, current.total));
+    }
+
+    public void postCreated(PostSummaryResponse response) {
+        afterCommit(() -> modify(current -> current.prepend(new Entry(response, null), windowSize)));
+    }
+
+    public void postUpdated(PostSummaryResponse response) {
+        afterCommit(() -> modify(current -> current.replace(response.getId(),
+                entry -> new Entry(response, entry.commentsChangedAt, entry.loadedCommentsChangedAt))));
+    }
+
+    public void postDeleted(Long postId, LocalDateTime createdAt) {
+        afterCommit(() -> modify(current -> current.remove(postId, createdAt)));
+    }
+
+    /**
+     * {@code changedAt} must be the value written to the post's {@code commentsChangedAt} by the
+     * same change; an entry loaded at or after it already includes {@code delta}.
+     */
+    public void commentCountChanged(Long postId, int delta, LocalDateTime changedAt) {
+        afterCommit(() -> modify(current -> current.replace(postId, entry -> {
+            if (entry.includesCommentsChangedAt(changedAt)) {
+                return entry;
+            }
+            PostSummaryResponse patched = copy(entry.getResponse());
+            patched.setCommentCount(patched.getCommentCount() + delta);
+            LocalDateTime newest = entry.commentsChangedAt == null || changedAt.isAfter(entry.commentsChangedAt)
+                    ? changedAt
+                    : entry.commentsChangedAt;
+            return new Entry(patched, newest, entry.loadedCommentsChangedAt);
+        })));
+    }
+
+    // For writes too large to patch in, e.g. imports: the next read reloads the window
+    public void invalidate() {
+        afterCommit(() -> modify(current -> null));
+    }
+
+    private Window reload(Supplier<Snapshot> loader) {
+        refreshLock.lock();
+        try {
+            Window current = window;
+            if (current != null && !current.isStale(System.nanoTime(), maxStalenessNanos)) {
+                return current; // another request reloaded it while we waited
+            }
+            for (int attempt = 0; attempt < MAX_LOAD_ATTEMPTS; attempt++) {
+                long seen;
+                synchronized (writeLock) {
+                    seen = modifications;
+                }
+                Snapshot loaded = loader.get();
+                synchronized (writeLock) {
+                    // A write committed during the query may be missing from it; load again
+                    if (modifications == seen) {
+                        window = new Window(List.copyOf(loaded.getEntries()), loaded.getTotal(), System.nanoTime());
+                        return window;
+                    }
+                }
+            }
+            return null;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void modify(UnaryOperator<Window> change) {
+        synchronized (writeLock) {
+            modifications++;
+            Window current = window;
+            if (current != null) {
+                window = change.apply(current);
+            }
+        }
+    }
+
+    // Patches must not expose uncommitted rows, nor survive a rollback
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static PostSummaryResponse copy(PostSummaryResponse source) {
+        PostSummaryResponse copy = new PostSummaryResponse();
+        copy.setId(source.getId());
+        copy.setTitle(source.getTitle());
+        copy.setExcerpt(source.getExcerpt());
+        copy.setAuthorUsername(source.getAuthorUsername());
+        copy.setCreatedAt(source.getCreatedAt());
+        copy.setUpdatedAt(source.getUpdatedAt());
+        copy.setCommentCount(source.getCommentCount());
+        return copy;
+    }
+
+    /**
+     * A cached post summary plus the time its comment count last changed, which feeds Last-Modified.
+     */
+    @Getter
+    public static class Entry {
+        private final PostSummaryResponse response;
+        private final LocalDateTime commentsChangedAt;
+        // As last read from the database. Local patches keep it, so each one is checked against
+        // the load and not against another patch that committed in a different order.
+        @Getter(AccessLevel.NONE)
+        private final LocalDateTime loadedCommentsChangedAt;
+
+        public Entry(PostSummaryResponse response, LocalDateTime commentsChangedAt) {
+            this(response, commentsChangedAt, commentsChangedAt);
+        }
+
+        private Entry(PostSummaryResponse response, LocalDateTime commentsChangedAt,
+                      LocalDateTime loadedCommentsChangedAt) {
+            this.response = response;
+            this.commentsChangedAt = commentsChangedAt;
+            this.loadedCommentsChangedAt = loadedCommentsChangedAt;
+        }
+
+        private boolean includesCommentsChangedAt(LocalDateTime changedAt) {
+            // The column keeps microseconds; compare at the precision a reload reads back
+            return loadedCommentsChangedAt != null && !loadedCommentsChangedAt.truncatedTo(ChronoUnit.MICROS)
+                    .isBefore(changedAt.truncatedTo(ChronoUnit.MICROS));
+        }
+    }
+
+    /**
+     * The newest posts as loaded from the database, with the total number of posts.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Snapshot {
+        private final List<Entry> entries;
+        private final long total;
+    }
+
+    /**
+     * One page cut from the window.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Slice {
+        private final List<Entry> entries;
+        private final long total;
+    }
+
+    // Immutable; every change produces a new copy
+    private static final class Window {
+
+        private final List<Entry> entries;
+        private final long total;
+        private final long loadedAtNanos;
+
+        Window(List<Entry> entries, long total, long loadedAtNanos) {
+            this.entries = entries;
+            this.total = total;
+            this.loadedAtNanos = loadedAtNanos;
+        }
+
+        boolean isStale(long nowNanos, long maxStalenessNanos) {
+            return nowNanos - loadedAtNanos >= maxStalenessNanos;
+        }
+
+        Window prepend(Entry entry, int limit) {
+            if (indexOf(entry.getResponse().getId()) >= 0) {
+                return this; // a reload already read it, total included
+            }
+            List<Entry> updated = new ArrayList<>(entries.size() + 1);
+            updated.add(entry);
+            updated.addAll(entries.subList(0, Math.min(entries.size(), limit - 1)));
+            return new Window(List.copyOf(updated), total + 1, loadedAtNanos);
+        }
+
+        Window replace(Long postId, UnaryOperator<Entry> change) {
+            int index = indexOf(postId);
+            if (index < 0) {
+                return this;
+            }
+            Entry changed = change.apply(entries.get(index));
+            if (changed == entries.get(index)) {
+                return this;
+            }
+            List<Entry> updated = new ArrayList<>(entries);
+            updated.set(index, changed);
+            return new Window(List.copyOf(updated), total, loadedAtNanos);
+        }
+
+        Window remove(Long postId, LocalDateTime createdAt) {
+            int index = indexOf(postId);
+            if (index < 0) {
+                // Absent but sorting inside the window, or the window holds every post: a reload
+                // already left it out. Otherwise it is older than the window and only the total drops.
+                if (entries.size() == total || (!entries.isEmpty()
+                        && !createdAt.isBefore(entries.get(entries.size() - 1).getResponse().getCreatedAt()))) {
+                    return this;
+                }
+                return new Window(entries, total - 1, loadedAtNanos);
+            }
+            List<Entry> updated = new ArrayList<>(entries);
+            updated.remove(index);
+            return new Window(List.copyOf(updated), total - 1, loadedAtNanos);
+        }
+
+        private int indexOf(Long postId) {
+            for (int i = 0; i < entries.size(); i++) {
+                if (entries.get(i).getResponse().getId().equals(postId)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+}
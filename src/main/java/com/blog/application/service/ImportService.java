@@ -0,0 +1,522 @@
+package com.blog.application.service;
+
+import com.blog.application.dto.CommentRequest;
+import com.blog.application.dto.ImportReport;
+import com.blog.application.dto.ImportReport.RowError;
+import com.blog.application.dto.PostRequest;
+import com.blog.application.dto.RegisterRequest;
+import com.blog.application.entity.Comment;
+import com.blog.application.entity.Post;
+import com.blog.application.entity.User;
+import com.blog.application.exception.BadRequestException;
+import com.blog.application.repository.CommentRepository;
+import com.blog.application.repository.PostRepository;
+import com.blog.application.repository.UserIdentity;
+import com.blog.application.repository.UserRepository;
+import com.blog.application.search.PostSearchIndex;
+import com.blog.application.security.BulkPasswordHasher;
+import com.blog.application.util.CsvReader;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Imports users, posts or comments from NDJSON or CSV read as a stream. Each row is validated
+ * with the request DTO the API uses for the same resource; valid rows are written in
+ * transactions of {@code batch-size} rows with batched INSERTs, and the persistence context is
+ * cleared after every batch, so memory use depends on the batch size and not on the file.
+ * <p>
+ * Rejected rows are counted and the first {@code max-reported-errors} are reported with their
+ * line and reason. If a batch fails as a whole (e.g. a unique constraint the pre-checks could
+ * not see), its rows are retried one by one so only the offending rows are rejected. Batches
+ * already written stay committed if the input turns out to be malformed further down.
+ * <p>
+ * Plain passwords are hashed per batch on the {@link BulkPasswordHasher} pool before the batch
+ * transaction opens, so no connection is held while BCrypt runs. At the default cost of 10 one
+ * core hashes in the order of 10 passwords a second, so large user imports should carry
+ * BCrypt hashes, which are stored as they are.
+ */
+@Service
+@Slf4j
+public class ImportService {
+
+    public enum Format {
+        NDJSON,
+        CSV
+    }
+
+    private static final String AUTHOR_COLUMN = "authorUsername";
+    // Migrated accounts keep their hash; anything else is treated as a plain password
+    private static final Pattern BCRYPT_HASH = Pattern.compile("^\\$2[aby]?\\$\\d{2}\\$[./A-Za-z0-9]{53}$");
+    private static final TypeReference<Map<String, Object>> ROW_TYPE = new TypeReference<>() {};
+
+    private final UserRepository userRepository;
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final BulkPasswordHasher passwordHasher;
+    private final PostSearchIndex postSearchIndex;
+    private final PostResponseCache postResponseCache;
+    private final HotFeedCache hotFeedCache;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int batchSize;
+    private final int maxReportedErrors;
+    private final long progressInterval;
+
+    public ImportService(UserRepository userRepository,
+                         PostRepository postRepository,
+                         CommentRepository commentRepository,
+                         BulkPasswordHasher passwordHasher,
+                         PostSearchIndex postSearchIndex,
+                         PostResponseCache postResponseCache,
+                         HotFeedCache hotFeedCache,
+                         EntityManager entityManager,
+                         ObjectMapper objectMapper,
+                         Validator validator,
+                         PlatformTransactionManager transactionManager,
+                         MeterRegistry meterRegistry,
+                         @Value("${app.import.batch-size:1000}") int batchSize,
+                         @Value("${app.import.max-reported-errors:100}") int maxReportedErrors,
+                         @Value("${app.import.progress-interval:100000}") long progressInterval) {
+        this.userRepository = userRepository;
+        this.postRepository = postRepository;
+        this.commentRepository = commentRepository;
+        this.passwordHasher = passwordHasher;
+        this.postSearchIndex = postSearchIndex;
+        this.postResponseCache = postResponseCache;
+        this.hotFeedCache = hotFeedCache;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+        this.progressInterval = progressInterval;
+    }
+
+    public ImportReport importRows(ImportType type, Format format, Reader input) throws IOException {
+        ImportRun run = new ImportRun(type);
+        try (RowSource rows = format == Format.CSV ? new CsvRows(input) : new NdjsonRows(input)) {
+            switch (type) {
+                case USERS -> importRows(run, rows, RegisterRequest.class, false, this::hashPasswords, this::writeUsers);
+                case POSTS -> importRows(run, rows, PostRequest.class, true, batch -> { }, this::writePosts);
+                case COMMENTS -> importRows(run, rows, CommentRequest.class, true, batch -> { }, this::writeComments);
+            }
+        }
+        return run.finish();
+    }
+
+    private <T> void importRows(ImportRun run, RowSource rows, Class<T> requestType, boolean withAuthor,
+                                Consumer<List<ImportRow<T>>> prepare, BatchWriter<T> writer) throws IOException {
+        List<ImportRow<T>> batch = new ArrayList<>(batchSize);
+        try {
+            RawRow raw;
+            while ((raw = rows.next()) != null) {
+                run.rowRead();
+                ImportRow<T> row = parse(raw, requestType, withAuthor, run);
+                if (row == null) {
+                    continue;
+                }
+                batch.add(row);
+                if (batch.size() >= batchSize) {
+                    prepare.accept(batch);
+                    writeBatch(batch, writer, run);
+                    batch.clear();
+                }
+            }
+        } catch (BadRequestException e) {
+            // The input cannot be read past this point
+            run.reject(rows.getLine(), e.getMessage());
+        }
+        if (!batch.isEmpty()) {
+            prepare.accept(batch);
+            writeBatch(batch, writer, run);
+        }
+    }
+
+    private <T> ImportRow<T> parse(RawRow raw, Class<T> requestType, boolean withAuthor, ImportRun run) {
+        if (raw.error() != null) {
+            run.reject(raw.line(), raw.error());
+            return null;
+        }
+
+        T request;
+        try {
+            request = objectMapper.convertValue(raw.values(), requestType);
+        } catch (IllegalArgumentException e) {
+            run.reject(raw.line(), "Invalid value: " + rootMessage(e));
+            return null;
+        }
+
+        Set<ConstraintViolation<T>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            String reason = violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+            run.reject(raw.line(), reason);
+            return null;
+        }
+
+        String author = null;
+        if (withAuthor) {
+            Object value = raw.values().get(AUTHOR_COLUMN);
+            author = value == null ? null : value.toString().trim();
+            if (author == null || author.isEmpty()) {
+                run.reject(raw.line(), AUTHOR_COLUMN + ": Author username is required");
+                return null;
+            }
+        }
+        return new ImportRow<>(raw.line(), request, author);
+    }
+
+    private <T> void writeBatch(List<ImportRow<T>> batch, BatchWriter<T> writer, ImportRun run) {
+        List<RowError> rejected = new ArrayList<>();
+        try {
+            writeInTransaction(batch, writer, rejected);
+            run.batchWritten(batch.size(), rejected);
+            return;
+        } catch (RuntimeException e) {
+            log.warn("Import batch of {} rows failed, retrying row by row: {}", batch.size(), rootMessage(e));
+        }
+
+        for (ImportRow<T> row : batch) {
+            List<RowError> rowRejected = new ArrayList<>();
+            try {
+                writeInTransaction(List.of(row), writer, rowRejected);
+                run.batchWritten(1, rowRejected);
+            } catch (RuntimeException e) {
+                run.reject(row.line(), rootMessage(e));
+            }
+        }
+    }
+
+    private <T> void writeInTransaction(List<ImportRow<T>> rows, BatchWriter<T> writer, List<RowError> rejected) {
+        transactionTemplate.executeWithoutResult(status -> {
+            writer.write(rows, rejected);
+            entityManager.flush();
+            entityManager.clear();
+        });
+    }
+
+    // Rows rejected later as duplicates are hashed too; they are rare and checking needs the transaction
+    private void hashPasswords(List<ImportRow<RegisterRequest>> rows) {
+        List<RegisterRequest> plain = rows.stream()
+                .map(ImportRow::request)
+                .filter(request -> !BCRYPT_HASH.matcher(request.getPassword()).matches())
+                .collect(Collectors.toList());
+        if (plain.isEmpty()) {
+            return;
+        }
+        List<String> hashes = passwordHasher.encodeAll(plain.stream().map(RegisterRequest::getPassword).toList());
+        for (int i = 0; i < plain.size(); i++) {
+            plain.get(i).setPassword(hashes.get(i));
+        }
+    }
+
+    private void writeUsers(List<ImportRow<RegisterRequest>> rows, List<RowError> rejected) {
+        Set<String> usernames = rows.stream().map(row -> row.request().getUsername()).collect(Collectors.toSet());
+        Set<String> emails = rows.stream().map(row -> row.request().getEmail()).collect(Collectors.toSet());
+        Set<String> takenUsernames = userRepository.findByUsernameIn(usernames).stream()
+                .map(UserIdentity::getUsername)
+                .collect(Collectors.toCollection(HashSet::new));
+        Set<String> takenEmails = new HashSet<>(userRepository.findExistingEmails(emails));
+
+        List<User> users = new ArrayList<>(rows.size());
+        for (ImportRow<RegisterRequest> row : rows) {
+            RegisterRequest request = row.request();
+            if (takenUsernames.contains(request.getUsername())) {
+                rejected.add(new RowError(row.line(), "Username is already taken!"));
+                continue;
+            }
+            if (takenEmails.contains(request.getEmail())) {
+                rejected.add(new RowError(row.line(), "Email is already in use!"));
+                continue;
+            }
+            takenUsernames.add(request.getUsername());
+            takenEmails.add(request.getEmail());
+
+            User user = new User();
+            user.setUsername(request.getUsername());
+            user.setEmail(request.getEmail());
+            user.setPassword(request.getPassword()); // hashed by hashPasswords
+            user.setRole(User.Role.USER);
+            users.add(user);
+        }
+        userRepository.saveAll(users);
+    }
+
+    private void writePosts(List<ImportRow<PostRequest>> rows, List<RowError> rejected) {
+        Map<String, Long> authors = resolveAuthors(rows);
+
+        List<Post> posts = new ArrayList<>(rows.size());
+        for (ImportRow<PostRequest> row : rows) {
+            Long authorId = authors.get(row.author());
+            if (authorId == null) {
+                rejected.add(new RowError(row.line(), "Unknown author: " + row.author()));
+                continue;
+            }
+            Post post = new Post();
+            post.setTitle(row.request().getTitle());
+            post.setContent(row.request().getContent());
+            post.setAuthor(userRepository.getReferenceById(authorId));
+            posts.add(post);
+        }
+        if (posts.isEmpty()) {
+            return;
+        }
+
+        postRepository.saveAll(posts);
+        // Imported posts are the newest ones; patching them in one by one would churn the feed window
+        hotFeedCache.invalidate();
+        afterCommit(() -> posts.forEach(postSearchIndex::index));
+    }
+
+    private void writeComments(List<ImportRow<CommentRequest>> rows, List<RowError> rejected) {
+        Map<String, Long> authors = resolveAuthors(rows);
+        Set<Long> postIds = rows.stream().map(row -> row.request().getPostId()).collect(Collectors.toSet());
+        Set<Long> existingPosts = new HashSet<>(postRepository.findExistingIds(postIds));
+
+        List<Comment> comments = new ArrayList<>(rows.size());
+        Map<Long, Long> added = new HashMap<>();
+        for (ImportRow<CommentRequest> row : rows) {
+            Long authorId = authors.get(row.author());
+            Long postId = row.request().getPostId();
+            if (authorId == null) {
+                rejected.add(new RowError(row.line(), "Unknown author: " + row.author()));
+                continue;
+            }
+            if (!existingPosts.contains(postId)) {
+                rejected.add(new RowError(row.line(), "Post not found with id: " + postId));
+                continue;
+            }
+            Comment comment = new Comment();
+            comment.setContent(row.request().getContent());
+            comment.setPost(postRepository.getReferenceById(postId));
+            comment.setAuthor(userRepository.getReferenceById(authorId));
+            comments.add(comment);
+            added.merge(postId, 1L, Long::sum);
+        }
+
+        commentRepository.saveAll(comments);
+        LocalDateTime now = LocalDateTime.now();
+        added.forEach((postId, count) -> {
+            postRepository.adjustCommentCount(postId, count, now);
+            postResponseCache.invalidate(postId);
+            hotFeedCache.commentCountChanged(postId, count.intValue(), now);
+        });
+    }
+
+    // One query per batch instead of one per row
+    private Map<String, Long> resolveAuthors(List<? extends ImportRow<?>> rows) {
+        Set<String> usernames = rows.stream().map(ImportRow::author).collect(Collectors.toSet());
+        return userRepository.findByUsernameIn(usernames).stream()
+                .collect(Collectors.toMap(UserIdentity::getUsername, UserIdentity::getId));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getMessage() != null ? root.getMessage() : root.getClass().getSimpleName();
+    }
+
+    @FunctionalInterface
+    private interface BatchWriter<T> {
+        void write(List<ImportRow<T>> rows, List<RowError> rejected);
+    }
+
+    private record ImportRow<T>(long line, T request, String author) {
+    }
+
+    private record RawRow(long line, Map<String, Object> values, String error) {
+    }
+
+    private interface RowSource extends Closeable {
+        RawRow next() throws IOException;
+
+        long getLine();
+    }
+
+    private class NdjsonRows implements RowSource {
+
+        private final BufferedReader reader;
+        private long line;
+
+        NdjsonRows(Reader input) {
+            this.reader = new BufferedReader(input);
+        }
+
+        @Override
+        public RawRow next() throws IOException {
+            String text;
+            while ((text = reader.readLine()) != null) {
+                line++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                try {
+                    return new RawRow(line, objectMapper.readValue(text, ROW_TYPE), null);
+                } catch (JsonProcessingException e) {
+                    return new RawRow(line, null, "Malformed JSON: " + e.getOriginalMessage());
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public long getLine() {
+            return line;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    // The first record names the columns
+    private static class CsvRows implements RowSource {
+
+        private final CsvReader reader;
+        private List<String> header;
+
+        CsvRows(Reader input) {
+            this.reader = new CsvReader(input);
+        }
+
+        @Override
+        public RawRow next() throws IOException {
+            if (header == null) {
+                header = reader.readRecord();
+                if (header == null) {
+                    return null;
+                }
+                header = header.stream().map(String::trim).toList();
+            }
+
+            List<String> record;
+            do {
+                record = reader.readRecord();
+                if (record == null) {
+                    return null;
+                }
+            } while (record.size() == 1 && record.get(0).isBlank());
+
+            long line = reader.getRecordLine();
+            if (record.size() != header.size()) {
+                return new RawRow(line, null, "Expected " + header.size() + " columns but found " + record.size());
+            }
+            Map<String, Object> values = new LinkedHashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                values.put(header.get(i), record.get(i));
+            }
+            return new RawRow(line, values, null);
+        }
+
+        @Override
+        public long getLine() {
+            return reader.getRecordLine();
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    private class ImportRun {
+
+        private final ImportReport report = new ImportReport();
+        private final long startedAt = System.nanoTime();
+        private final Counter importedRows;
+        private final Counter rejectedRows;
+
+        ImportRun(ImportType type) {
+            String name = type.name().toLowerCase(Locale.ROOT);
+            report.setType(name);
+            this.importedRows = meterRegistry.counter("import.rows", "type", name, "outcome", "imported");
+            this.rejectedRows = meterRegistry.counter("import.rows", "type", name, "outcome", "rejected");
+        }
+
+        void rowRead() {
+            report.setRowsRead(report.getRowsRead() + 1);
+            if (report.getRowsRead() % progressInterval == 0) {
+                log.info("Import of {}: {} rows read, {} imported, {} rejected", report.getType(),
+                        report.getRowsRead(), report.getImported(), report.getRejected());
+            }
+        }
+
+        void reject(long line, String reason) {
+            report.setRejected(report.getRejected() + 1);
+            rejectedRows.increment();
+            if (report.getErrors().size() < maxReportedErrors) {
+                report.getErrors().add(new RowError(line, reason));
+            } else {
+                report.setErrorsTruncated(true);
+            }
+        }
+
+        void batchWritten(int rows, List<RowError> rejected) {
+            long written = rows - rejected.size();
+            report.setImported(report.getImported() + written);
+            report.setBatches(report.getBatches() + 1);
+            importedRows.increment(written);
+            rejected.forEach(error -> reject(error.getLine(), error.getReason()));
+        }
+
+        ImportReport finish() {
+            report.setDurationMs((System.nanoTime() - startedAt) / 1_000_000);
+            log.info("Import of {} finished in {} ms: {} rows read, {} imported, {} rejected", report.getType(),
+                    report.getDurationMs(), report.getRowsRead(), report.getImported(), report.getRejected());
+            return report;
+        }
+    }
+}
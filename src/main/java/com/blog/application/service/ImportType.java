@@ -0,0 +1,23 @@
+package com.blog.application.service;
+
+import com.blog.application.exception.BadRequestException;
+
+import java.util.Locale;
+
+/**
+ * What an import file contains. Each row is validated with the DTO the API uses for the same
+ * resource; posts and comments also name their author in an {@code authorUsername} column.
+ */
+public enum ImportType {
+    USERS,
+    POSTS,
+    COMMENTS;
+
+    public static ImportType fromPath(String value) {
+        try {
+            return valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Unknown import type: " + value + " (expected users, posts or comments)");
+        }
+    }
+}
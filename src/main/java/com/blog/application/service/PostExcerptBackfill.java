@@ -0,0 +1,71 @@
+package com.blog.application.service;
+
+import com.blog.application.entity.Post;
+import com.blog.application.repository.PostContent;
+import com.blog.application.repository.PostRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Fills in {@code posts.excerpt} for rows written before the column existed, or by scripts such
+ * as {@code data.sql}. New and edited posts get their excerpt from the entity callbacks, so this
+ * only has work to do after an upgrade. Posts are scanned in id order, one transaction per batch.
+ */
+@Component
+@Slf4j
+public class PostExcerptBackfill {
+
+    private final PostRepository postRepository;
+    private final HotFeedCache hotFeedCache;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public PostExcerptBackfill(PostRepository postRepository,
+                               HotFeedCache hotFeedCache,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${app.posts.excerpt-backfill.batch-size:500}") int batchSize) {
+        this.postRepository = postRepository;
+        this.hotFeedCache = hotFeedCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        int filled = backfill();
+        if (filled > 0) {
+            log.info("Backfilled excerpts for {} posts", filled);
+        }
+    }
+
+    public int backfill() {
+        int filled = 0;
+        long afterId = 0L;
+        List<PostContent> batch;
+        do {
+            batch = postRepository.findMissingExcerpts(afterId, PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) {
+                break;
+            }
+            List<PostContent> rows = batch;
+            transactionTemplate.executeWithoutResult(status -> rows.forEach(row ->
+                    postRepository.updateExcerpt(row.getId(), Post.excerptOf(row.getContent()))));
+            filled += batch.size();
+            afterId = batch.get(batch.size() - 1).getId();
+        } while (batch.size() == batchSize);
+
+        if (filled > 0) {
+            // The feed window may hold summaries read before their excerpt existed
+            hotFeedCache.invalidate();
+        }
+        return filled;
+    }
+}
@@ -0,0 +1,135 @@
+package com.blog.application.service;
+
+import com.blog.application.dto.PostResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.function.Function;
+
+/**
+ * Assembled {@link PostResponse}s by post id. Bounded by an estimate of their memory footprint
+ * and evicted by Caffeine's frequency-aware (W-TinyLFU) policy, so one-off reads do not push out
+ * popular posts. Entries also expire after {@code app.posts.cache.ttl-ms} as a safety net.
+ * <p>
+ * Every write path that changes a response must call {@link #invalidate}: post update/delete,
+ * comment create/delete and the comment count reconciler. Cached responses are shared and must
+ * not be modified by callers.
+ * <p>
+ * Hit/miss/eviction counts are published as the {@code postResponses} cache metrics, the
+ * estimated size as {@code cache.footprint}.
+ */
+@Component
+public class PostResponseCache {
+
+    // Object headers, boxed id/count and two LocalDateTimes
+    private static final int FIXED_OVERHEAD_BYTES = 160;
+
+    private final Cache<Long, PostResponse> cache;
+    // Posts invalidated within the replica sticky window; null when reads never go to a replica
+    private final Cache<Long, Boolean> recentlyWritten;
+
+    public PostResponseCache(long maxBytes, long ttlMs, MeterRegistry meterRegistry) {
+        this(maxBytes, ttlMs, 0, meterRegistry);
+    }
+
+    // The sticky window only matters when reads can actually go to a replica
+    @Autowired
+    public PostResponseCache(@Value("${app.posts.cache.max-bytes:67108864}") long maxBytes,
+                             @Value("${app.posts.cache.ttl-ms:600000}") long ttlMs,
+                             @Value("${app.datasource.replicas.enabled:false}") boolean replicasEnabled,
+                             @Value("${app.datasource.replicas.sticky-window-ms:5000}") long stickyWindowMs,
+                             MeterRegistry meterRegistry) {
+        this(maxBytes, ttlMs, replicasEnabled ? stickyWindowMs : 0, meterRegistry);
+    }
+
+    /**
+     * With read replicas a load right after a write may still see the old row. Loads of posts
+     * invalidated within {@code replicaLagMs} are therefore returned but not cached.
+     */
+    public PostResponseCache(long maxBytes, long ttlMs, long replicaLagMs, MeterRegistry meterRegistry) {
+        this.recentlyWritten = replicaLagMs > 0
+                ? Caffeine.newBuilder().expireAfterWrite(Duration.ofMillis(replicaLagMs)).<Long, Boolean>build()
+                : null;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Long id, PostResponse response) -> estimateBytes(response))
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "postResponses");
+        Gauge.builder("cache.footprint", this, PostResponseCache::getEstimatedBytes)
+                .tag("cache", "postResponses")
+                .description("Estimated memory held by cached post responses")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached response for {@code postId}, or loads it once; concurrent misses share
+     * one load. Exceptions thrown by the loader propagate and nothing is cached.
+     */
+    public PostResponse get(Long postId, Function<Long, PostResponse> loader) {
+        if (recentlyWritten != null && recentlyWritten.getIfPresent(postId) != null) {
+            return loader.apply(postId);
+        }
+        return cache.get(postId, loader);
+    }
+
+    public PostResponse getIfPresent(Long postId) {
+        return cache.getIfPresent(postId);
+    }
+
+    /**
+     * Drops the entry now and, inside a transaction, again after commit, so a read that runs
+     * before the commit cannot leave the old version behind.
+     */
+    public void invalidate(Long postId) {
+        if (recentlyWritten != null) {
+            recentlyWritten.put(postId, Boolean.TRUE);
+        }
+        cache.invalidate(postId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    if (recentlyWritten != null) {
+                        recentlyWritten.put(postId, Boolean.TRUE); // the window starts at the commit
+                    }
+                    cache.invalidate(postId);
+                }
+            });
+        }
+    }
+
+    public void invalidateAll(Collection<Long> postIds) {
+        postIds.forEach(this::invalidate);
+    }
+
+    public long getEstimatedBytes() {
+        return cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+    }
+
+    // Upper bound: Java strings take at most two bytes per char
+    static int estimateBytes(PostResponse response) {
+        return FIXED_OVERHEAD_BYTES
+                + 2 * length(response.getTitle())
+                + 2 * length(response.getContent())
+                + 2 * length(response.getAuthorUsername());
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+}
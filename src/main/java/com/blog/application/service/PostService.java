@@ -2,28 +2,53 @@ package com.blog.application.service;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.blog.application.dto.CursorPage;
 import com.blog.application.dto.PostRequest;
 import com.blog.application.dto.PostResponse;
+import com.blog.application.dto.PostSummaryResponse;
 import com.blog.application.entity.Post;
 import com.blog.application.entity.User;
+import com.blog.application.exception.BadRequestException;
 import com.blog.application.exception.ResourceNotFoundException;
 import com.blog.application.exception.UnauthorizedException;
-import com.blog.application.repository.CommentRepository;
+import com.blog.application.repository.PostFeedRow;
 import com.blog.application.repository.PostRepository;
+import com.blog.application.repository.PostVersion;
+import com.blog.application.search.PostSearchIndex;
+import com.blog.application.search.SearchHits;
+import com.blog.application.security.AuthenticatedUser;
+import com.blog.application.util.FieldSelection;
+import com.blog.application.util.KeysetCursor;
+import com.blog.application.util.ResourceVersion;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class PostService {
 
+    private static final int MAX_FEED_PAGE_SIZE = 100;
+
     private final PostRepository postRepository;
-    private final CommentRepository commentRepository;
     private final UserService userService;
+    private final PostSearchIndex postSearchIndex;
+    private final PostResponseCache postResponseCache;
+    private final HotFeedCache hotFeedCache;
 
-    public PostResponse createPost(PostRequest request, String username) {
-        User author = userService.findByUsername(username);
+    public PostResponse createPost(PostRequest request, AuthenticatedUser user) {
+        User author = userService.getAuthorReference(user);
 
         Post post = new Post();
         post.setTitle(request.getTitle());
@@ -31,60 +56,259 @@ public class PostService {
         post.setAuthor(author);
 
         Post savedPost = postRepository.save(post);
-        return convertToResponse(savedPost);
+        postSearchIndex.index(savedPost);
+        hotFeedCache.postCreated(convertToSummary(savedPost, user.getUsername()));
+        return convertToResponse(savedPost, user.getUsername());
     }
 
-    public Page<PostResponse> getAllPosts(Pageable pageable) {
-        return postRepository.findAllByOrderByCreatedAtDesc(pageable)
-                .map(this::convertToResponse);
+    /**
+     * Creates all posts in one transaction. Ids come from the pooled generator, so the INSERTs
+     * are sent as JDBC batches of {@code hibernate.jdbc.batch_size}.
+     */
+    public List<PostResponse> createPosts(List<PostRequest> requests, AuthenticatedUser user) {
+        User author = userService.getAuthorReference(user);
+
+        List<Post> posts = new ArrayList<>(requests.size());
+        for (PostRequest request : requests) {
+            Post post = new Post();
+            post.setTitle(request.getTitle());
+            post.setContent(request.getContent());
+            post.setAuthor(author);
+            posts.add(post);
+        }
+
+        List<Post> savedPosts = postRepository.saveAll(posts);
+        List<PostResponse> responses = new ArrayList<>(savedPosts.size());
+        for (Post savedPost : savedPosts) {
+            postSearchIndex.index(savedPost);
+            hotFeedCache.postCreated(convertToSummary(savedPost, user.getUsername()));
+            responses.add(convertToResponse(savedPost, user.getUsername()));
+        }
+        return responses;
     }
 
+    /**
+     * Summaries only: list queries read the excerpt column and never the content TEXT.
+     */
+    @Transactional(readOnly = true)
+    public Page<PostSummaryResponse> getAllPosts(Pageable pageable) {
+        Optional<HotFeedCache.Slice> hot = hotFeedCache.getPage(pageable, this::loadFeedWindow);
+        if (hot.isPresent()) {
+            List<PostSummaryResponse> content = hot.get().getEntries().stream()
+                    .map(HotFeedCache.Entry::getResponse)
+                    .collect(Collectors.toList());
+            return new PageImpl<>(content, pageable, hot.get().getTotal());
+        }
+        return postRepository.findSummariesByOrderByCreatedAtDesc(pageable);
+    }
+
+    private HotFeedCache.Snapshot loadFeedWindow() {
+        Page<PostFeedRow> newest = postRepository.findFeedRowsByOrderByCreatedAtDesc(
+                PageRequest.of(0, hotFeedCache.getWindowSize()));
+        List<HotFeedCache.Entry> entries = newest.stream()
+                .map(row -> new HotFeedCache.Entry(new PostSummaryResponse(row.getId(), row.getTitle(),
+                        row.getExcerpt(), row.getAuthorUsername(), row.getCreatedAt(), row.getUpdatedAt(),
+                        row.getCommentCount()), row.getCommentsChangedAt()))
+                .collect(Collectors.toList());
+        return new HotFeedCache.Snapshot(entries, newest.getTotalElements());
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<PostSummaryResponse> getPostFeed(String cursor, int size) {
+        validateFeedPageSize(size);
+
+        // One extra row tells us whether another page exists without counting
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<PostSummaryResponse> posts;
+        if (cursor == null || cursor.isBlank()) {
+            posts = postRepository.findSummaryFeed(limit);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            posts = postRepository.findSummaryFeedAfter(after.getCreatedAt(), after.getId(), limit);
+        }
+
+        boolean hasNext = posts.size() > size;
+        List<PostSummaryResponse> page = hasNext ? new ArrayList<>(posts.subList(0, size)) : posts;
+        String nextCursor = null;
+        if (hasNext) {
+            PostSummaryResponse last = page.get(page.size() - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorPage<>(page, size, nextCursor, hasNext);
+    }
+
+    /**
+     * Validators for {@link #getPostById}, read from a few columns without loading the post.
+     */
+    @Transactional(readOnly = true)
+    public ResourceVersion getPostVersion(Long id) {
+        PostVersion version = postRepository.findVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Post not found with id: " + id));
+        return versionOf(List.of(version)).build();
+    }
+
+    /**
+     * Validators for a page returned by {@link #getAllPosts}, built from its rows so the page and
+     * its count are read once. The total count is part of the ETag because it is part of the page
+     * body. There is no Last-Modified: after a delete the next post slides onto the page with an
+     * older timestamp, so If-Modified-Since alone would keep the stale page.
+     */
+    public ResourceVersion getPostsVersion(Page<PostSummaryResponse> page) {
+        ResourceVersion.Builder builder = ResourceVersion.builder();
+        for (PostSummaryResponse post : page.getContent()) {
+            builder.add(post.getId())
+                    .add(post.getCommentCount())
+                    .add(post.getUpdatedAt());
+        }
+        return builder.add(page.getTotalElements()).buildEtagOnly();
+    }
+
+    /**
+     * Validators for {@link #getPostFeed}. Covers the look-ahead row as well, since it decides
+     * the next cursor. ETag only, for the same reason as {@link #getPostsVersion}.
+     */
+    @Transactional(readOnly = true)
+    public ResourceVersion getFeedVersion(String cursor, int size) {
+        validateFeedPageSize(size);
+
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<PostVersion> versions;
+        if (cursor == null || cursor.isBlank()) {
+            versions = postRepository.findFeedVersions(limit);
+        } else {
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            versions = postRepository.findFeedVersionsAfter(after.getCreatedAt(), after.getId(), limit);
+        }
+        return versionOf(versions).buildEtagOnly();
+    }
+
+    @Transactional(readOnly = true)
     public PostResponse getPostById(Long id) {
-        Post post = postRepository.findById(id)
+        return postResponseCache.get(id, this::loadPostResponse);
+    }
+
+    /**
+     * Without {@code content} the post is read from the summary columns and the TEXT column is
+     * never loaded; a cached full response is still served when there is one.
+     */
+    @Transactional(readOnly = true)
+    public PostResponse getPostById(Long id, FieldSelection fields) {
+        if (fields.includes("content")) {
+            return getPostById(id);
+        }
+        PostResponse cached = postResponseCache.getIfPresent(id);
+        if (cached != null) {
+            return cached;
+        }
+        PostSummaryResponse summary = postRepository.findSummaryById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Post not found with id: " + id));
+        PostResponse response = new PostResponse();
+        response.setId(summary.getId());
+        response.setTitle(summary.getTitle());
+        response.setAuthorUsername(summary.getAuthorUsername());
+        response.setCreatedAt(summary.getCreatedAt());
+        response.setUpdatedAt(summary.getUpdatedAt());
+        response.setCommentCount((int) summary.getCommentCount());
+        return response;
+    }
+
+    private PostResponse loadPostResponse(Long id) {
+        Post post = postRepository.findWithAuthorById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Post not found with id: " + id));
         return convertToResponse(post);
     }
 
-    public PostResponse updatePost(Long id, PostRequest request, String username) {
-        Post post = postRepository.findById(id)
+    @Transactional
+    public PostResponse updatePost(Long id, PostRequest request, AuthenticatedUser user) {
+        Post post = postRepository.findWithAuthorById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Post not found with id: " + id));
 
-        if (!post.getAuthor().getUsername().equals(username)) {
+        if (!UserService.isSameUser(post.getAuthor(), user)) {
             throw new UnauthorizedException("You don't have permission to update this post");
         }
 
         post.setTitle(request.getTitle());
         post.setContent(request.getContent());
 
-        Post updatedPost = postRepository.save(post);
-        return convertToResponse(updatedPost);
+        // Flushed so updatedAt is stamped before it goes into the response and the feed window
+        Post updatedPost = postRepository.saveAndFlush(post);
+        postResponseCache.invalidate(id);
+        postSearchIndex.index(updatedPost);
+        hotFeedCache.postUpdated(convertToSummary(updatedPost, user.getUsername()));
+        return convertToResponse(updatedPost, user.getUsername());
     }
 
-    public void deletePost(Long id, String username) {
-        Post post = postRepository.findById(id)
+    @Transactional
+    public void deletePost(Long id, AuthenticatedUser user) {
+        Post post = postRepository.findWithAuthorById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Post not found with id: " + id));
 
-        if (!post.getAuthor().getUsername().equals(username)) {
+        if (!UserService.isSameUser(post.getAuthor(), user)) {
             throw new UnauthorizedException("You don't have permission to delete this post");
         }
 
         postRepository.delete(post);
+        postResponseCache.invalidate(id);
+        hotFeedCache.postDeleted(id, post.getCreatedAt());
+        postSearchIndex.remove(id);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<PostSummaryResponse> searchPosts(String keyword, Pageable pageable) {
+        if (!postSearchIndex.isReady()) {
+            // Index is still being built at startup
+            return postRepository.searchSummaries(keyword, pageable);
+        }
+
+        SearchHits hits = postSearchIndex.search(keyword, (int) pageable.getOffset(), pageable.getPageSize());
+        Map<Long, PostSummaryResponse> postsById = postRepository.findSummariesByIdIn(hits.getPostIds()).stream()
+                .collect(Collectors.toMap(PostSummaryResponse::getId, Function.identity()));
+
+        // Keep ranking order; ids deleted since they were indexed simply drop out
+        List<PostSummaryResponse> content = hits.getPostIds().stream()
+                .map(postsById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        return new PageImpl<>(content, pageable, hits.getTotalHits());
+    }
+
+    private static void validateFeedPageSize(int size) {
+        if (size < 1 || size > MAX_FEED_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_FEED_PAGE_SIZE);
+        }
     }
 
-    public Page<PostResponse> searchPosts(String keyword, Pageable pageable) {
-        return postRepository.findByTitleContainingIgnoreCaseOrContentContainingIgnoreCase(keyword, pageable)
-                .map(this::convertToResponse);
+    private static ResourceVersion.Builder versionOf(List<PostVersion> versions) {
+        ResourceVersion.Builder builder = ResourceVersion.builder();
+        for (PostVersion version : versions) {
+            builder.add(version.getId())
+                    .add(version.getCommentCount())
+                    .modifiedAt(version.getUpdatedAt())
+                    .lastModifiedAt(version.getCommentsChangedAt());
+        }
+        return builder;
     }
 
     private PostResponse convertToResponse(Post post) {
+        return convertToResponse(post, post.getAuthor().getUsername());
+    }
+
+    // Excerpt computed here as well: the entity callback has not run yet for a pending update
+    private static PostSummaryResponse convertToSummary(Post post, String authorUsername) {
+        return new PostSummaryResponse(post.getId(), post.getTitle(), Post.excerptOf(post.getContent()),
+                authorUsername, post.getCreatedAt(), post.getUpdatedAt(), post.getCommentCount());
+    }
+
+    // Write paths pass the principal's name so the author proxy is never initialized
+    private PostResponse convertToResponse(Post post, String authorUsername) {
         PostResponse response = new PostResponse();
         response.setId(post.getId());
         response.setTitle(post.getTitle());
         response.setContent(post.getContent());
-        response.setAuthorUsername(post.getAuthor().getUsername());
+        response.setAuthorUsername(authorUsername);
         response.setCreatedAt(post.getCreatedAt());
         response.setUpdatedAt(post.getUpdatedAt());
-        response.setCommentCount((int) commentRepository.countByPostId(post.getId())); // 👈 Cast added here if PostResponse expects `int`
+        response.setCommentCount((int) post.getCommentCount()); // 👈 Cast added here if PostResponse expects `int`
         return response;
     }
 }
@@ -14,6 +14,7 @@ import com.blog.application.entity.User;
 import com.blog.application.exception.BadRequestException;
 import com.blog.application.exception.ResourceNotFoundException;
 import com.blog.application.repository.UserRepository;
+import com.blog.application.security.AuthenticatedUser;
 import com.blog.application.util.JwtUtil;
 
 @Service
@@ -41,7 +42,7 @@ public class UserService {
         user.setRole(User.Role.USER); // ✅ assuming enum inside User
 
         User savedUser = userRepository.save(user);
-        String token = jwtUtil.generateToken(savedUser.getUsername());
+        String token = jwtUtil.generateToken(AuthenticatedUser.fromUser(savedUser));
 
         return new AuthResponse(token, savedUser.getUsername(), savedUser.getEmail());
     }
@@ -54,16 +55,37 @@ public class UserService {
                 )
         );
 
-        User user = userRepository.findByUsername(request.getUsername())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-
-        String token = jwtUtil.generateToken(user.getUsername());
+        // The provider already loaded the user to check the password; reuse it instead of querying again
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+        String token = jwtUtil.generateToken(user);
 
         return new AuthResponse(token, user.getUsername(), user.getEmail());
     }
 
     public User findByUsername(String username) {
-        return userRepository.findByUsername(username)
+        return userRepository.findByNaturalUsername(username)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found: " + username));
     }
+
+    /**
+     * The acting user as an association target. Uses the id carried by the token, so no
+     * SELECT is issued; only name-only principals (legacy tokens) are looked up.
+     */
+    public User getAuthorReference(AuthenticatedUser principal) {
+        if (principal.getId() != null) {
+            return userRepository.getReferenceById(principal.getId());
+        }
+        return findByUsername(principal.getUsername());
+    }
+
+    /**
+     * Ownership check that compares ids when the principal has one; reading the id of a lazy
+     * author proxy does not initialize it.
+     */
+    public static boolean isSameUser(User author, AuthenticatedUser principal) {
+        if (principal.getId() != null) {
+            return principal.getId().equals(author.getId());
+        }
+        return author.getUsername().equals(principal.getUsername());
+    }
 }
@@ -0,0 +1,107 @@
+package com.blog.application.util;
+
+import com.blog.application.exception.BadRequestException;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.WebRequest;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Fields requested with {@code ?fields=id,title}, checked against the response type before any
+ * work is done. Response DTOs carry {@code @JsonFilter(FieldSelection.FILTER_ID)}; the selection
+ * bound to the request is applied when the body is written.
+ */
+public final class FieldSelection {
+
+    public static final String FILTER_ID = "fieldSelection";
+    public static final String REQUEST_ATTRIBUTE = FieldSelection.class.getName();
+
+    private static final FieldSelection ALL = new FieldSelection(null);
+    private static final FilterProvider SERIALIZE_ALL = new SimpleFilterProvider()
+            .addFilter(FILTER_ID, SimpleBeanPropertyFilter.serializeAll());
+    private static final Map<Class<?>, Set<String>> FIELDS_BY_TYPE = new ConcurrentHashMap<>();
+
+    private final Set<String> fields; // null: no selection, everything is returned
+
+    private FieldSelection(Set<String> fields) {
+        this.fields = fields;
+    }
+
+    public static FieldSelection all() {
+        return ALL;
+    }
+
+    /**
+     * Parses a comma-separated list of property names of {@code type}. A missing or blank value
+     * selects everything; any unknown name is rejected with the list of valid ones.
+     */
+    public static FieldSelection parse(String fields, Class<?> type) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        Set<String> allowed = fieldsOf(type);
+        Set<String> selected = new LinkedHashSet<>();
+        List<String> unknown = new ArrayList<>();
+        for (String name : fields.split(",")) {
+            String field = name.strip();
+            if (field.isEmpty()) {
+                continue;
+            }
+            if (allowed.contains(field)) {
+                selected.add(field);
+            } else {
+                unknown.add(field);
+            }
+        }
+        if (!unknown.isEmpty()) {
+            throw new BadRequestException("Unknown fields: " + String.join(", ", unknown)
+                    + " (allowed: " + String.join(", ", allowed) + ")");
+        }
+        return selected.isEmpty() ? ALL : new FieldSelection(Collections.unmodifiableSet(selected));
+    }
+
+    public boolean isAll() {
+        return fields == null;
+    }
+
+    public boolean includes(String field) {
+        return fields == null || fields.contains(field);
+    }
+
+    /**
+     * Makes this the selection applied to the response body of the current request.
+     */
+    public FieldSelection bindTo(WebRequest request) {
+        request.setAttribute(REQUEST_ATTRIBUTE, this, RequestAttributes.SCOPE_REQUEST);
+        return this;
+    }
+
+    public FilterProvider toFilterProvider() {
+        if (fields == null) {
+            return SERIALIZE_ALL;
+        }
+        return new SimpleFilterProvider()
+                .addFilter(FILTER_ID, SimpleBeanPropertyFilter.filterOutAllExcept(fields));
+    }
+
+    // Response DTOs are plain Lombok beans, so declared field names are their JSON property names
+    private static Set<String> fieldsOf(Class<?> type) {
+        return FIELDS_BY_TYPE.computeIfAbsent(type, t -> Arrays.stream(t.getDeclaredFields())
+                .filter(field -> !Modifier.isStatic(field.getModifiers()))
+                .map(Field::getName)
+                .collect(Collectors.toCollection(LinkedHashSet::new)));
+    }
+}
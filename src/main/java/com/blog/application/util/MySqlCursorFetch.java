@@ -0,0 +1,52 @@
+package com.blog.application.util;
+
+import com.mysql.cj.conf.PropertyKey;
+import com.mysql.cj.conf.PropertySet;
+import com.mysql.cj.conf.RuntimeProperty;
+import com.mysql.cj.jdbc.JdbcConnection;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Turns on Connector/J cursor fetching for one connection, so a statement with a positive fetch
+ * size reads its rows fetch-size at a time from a server-side cursor instead of buffering the
+ * whole result. Cursor fetching needs server-side prepared statements, which are switched on with
+ * it. Setting both in the datasource URL would move every statement of the application to
+ * server-side prepares; here they only last until {@link Restore#close()}, which must run before
+ * the connection goes back to the pool. Connections of other drivers are left alone.
+ */
+public final class MySqlCursorFetch {
+
+    private MySqlCursorFetch() {
+    }
+
+    /**
+     * Enables cursor fetching on {@code connection} for statements prepared from now on.
+     */
+    public static Restore enable(Connection connection) throws SQLException {
+        if (!connection.isWrapperFor(JdbcConnection.class)) {
+            return () -> { };
+        }
+        PropertySet properties = connection.unwrap(JdbcConnection.class).getPropertySet();
+        RuntimeProperty<Boolean> cursorFetch = properties.getBooleanProperty(PropertyKey.useCursorFetch);
+        RuntimeProperty<Boolean> serverPrepStmts = properties.getBooleanProperty(PropertyKey.useServerPrepStmts);
+        boolean cursorFetchBefore = cursorFetch.getValue();
+        boolean serverPrepStmtsBefore = serverPrepStmts.getValue();
+        cursorFetch.setValue(true);
+        serverPrepStmts.setValue(true);
+        return () -> {
+            cursorFetch.setValue(cursorFetchBefore);
+            serverPrepStmts.setValue(serverPrepStmtsBefore);
+        };
+    }
+
+    /**
+     * Puts the connection's previous settings back.
+     */
+    @FunctionalInterface
+    public interface Restore extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
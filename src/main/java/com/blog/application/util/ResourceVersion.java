@@ -0,0 +1,79 @@
+package com.blog.application.util;
+
+import lombok.Getter;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * HTTP validators for a representation: a strong ETag over everything that shapes the body and
+ * the newest modification time in epoch milliseconds ({@code -1} when unknown, which Spring's
+ * {@code checkNotModified} ignores).
+ */
+@Getter
+public class ResourceVersion {
+
+    private final String etag;
+    private final long lastModified;
+
+    private ResourceVersion(String etag, long lastModified) {
+        this.etag = etag;
+        this.lastModified = lastModified;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+
+        private final StringBuilder parts = new StringBuilder();
+        private LocalDateTime newest;
+
+        /**
+         * Adds a value that must change the ETag when it changes.
+         */
+        public Builder add(Object part) {
+            parts.append(part).append('|');
+            return this;
+        }
+
+        /**
+         * Adds a modification time; it also counts as an ETag part.
+         */
+        public Builder modifiedAt(LocalDateTime time) {
+            add(time);
+            return lastModifiedAt(time);
+        }
+
+        /**
+         * Adds a modification time that only moves Last-Modified, for changes the other parts
+         * already capture.
+         */
+        public Builder lastModifiedAt(LocalDateTime time) {
+            if (time != null && (newest == null || time.isAfter(newest))) {
+                newest = time;
+            }
+            return this;
+        }
+
+        public ResourceVersion build() {
+            String hash = DigestUtils.md5DigestAsHex(parts.toString().getBytes(StandardCharsets.UTF_8));
+            long lastModified = newest == null
+                    ? -1
+                    : newest.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            return new ResourceVersion("\"" + hash + "\"", lastModified);
+        }
+
+        /**
+         * Builds a version without Last-Modified, for representations whose newest row time does
+         * not move on every change (a page loses rows on delete and an older one slides in).
+         */
+        public ResourceVersion buildEtagOnly() {
+            ResourceVersion version = build();
+            return new ResourceVersion(version.getEtag(), -1);
+        }
+    }
+}
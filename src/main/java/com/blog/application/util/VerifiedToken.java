@@ -0,0 +1,39 @@
+package com.blog.application.util;
+
+import io.jsonwebtoken.Claims;
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable result of parsing and verifying a JWT exactly once.
+ */
+@Getter
+public final class VerifiedToken {
+
+    private final String subject;
+    private final Date expiration;
+    private final Map<String, Object> claims;
+
+    public VerifiedToken(Claims claims) {
+        this.subject = claims.getSubject();
+        this.expiration = claims.getExpiration() != null ? new Date(claims.getExpiration().getTime()) : null;
+        this.claims = Collections.unmodifiableMap(new LinkedHashMap<>(claims));
+    }
+
+    public Date getExpiration() {
+        return expiration != null ? new Date(expiration.getTime()) : null;
+    }
+
+    public <T> T getClaim(String name, Class<T> type) {
+        Object value = claims.get(name);
+        return type.isInstance(value) ? type.cast(value) : null;
+    }
+
+    public boolean isExpired() {
+        return expiration != null && expiration.before(new Date());
+    }
+}
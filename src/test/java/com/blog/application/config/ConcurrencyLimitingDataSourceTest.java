@@ -0,0 +1,80 @@
+package com.blog.application.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class ConcurrencyLimitingDataSourceTest {
+
+    @Mock
+    private DataSource target;
+
+    @Mock
+    private Connection connection;
+
+    private ConcurrencyLimitingDataSource dataSource;
+
+    @BeforeEach
+    void setup() throws SQLException {
+        MockitoAnnotations.openMocks(this);
+        when(target.getConnection()).thenReturn(connection);
+        dataSource = new ConcurrencyLimitingDataSource(target, 2, 50);
+    }
+
+    @Test
+    @DisplayName("Permit is held until the connection is closed")
+    void testGetConnection_HoldsPermitUntilClose() throws SQLException {
+        Connection first = dataSource.getConnection();
+        Connection second = dataSource.getConnection();
+        assertEquals(0, dataSource.getAvailablePermits());
+
+        first.close();
+        first.close(); // closing twice releases only one permit
+
+        assertEquals(1, dataSource.getAvailablePermits());
+        verify(connection, times(1)).close();
+        second.close();
+        assertEquals(2, dataSource.getAvailablePermits());
+    }
+
+    @Test
+    @DisplayName("Caller fails after the acquire timeout when all permits are taken")
+    void testGetConnection_TimesOut() throws SQLException {
+        dataSource.getConnection();
+        dataSource.getConnection();
+
+        assertThrows(SQLTransientConnectionException.class, () -> dataSource.getConnection());
+        verify(target, times(2)).getConnection();
+    }
+
+    @Test
+    @DisplayName("Permit is returned when the target fails to connect")
+    void testGetConnection_ReleasesPermitOnFailure() throws SQLException {
+        when(target.getConnection()).thenThrow(new SQLException("down"));
+
+        assertThrows(SQLException.class, () -> dataSource.getConnection());
+        assertEquals(2, dataSource.getAvailablePermits());
+    }
+
+    @Test
+    @DisplayName("Calls other than close go to the target connection")
+    void testGetConnection_DelegatesToTarget() throws SQLException {
+        Connection proxy = dataSource.getConnection();
+
+        proxy.setAutoCommit(false);
+
+        verify(connection).setAutoCommit(false);
+        assertSame(connection, ((ConnectionProxy) proxy).getTargetConnection());
+    }
+}
@@ -0,0 +1,110 @@
+package com.blog.application.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReadWriteRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource firstReplica;
+
+    @Mock
+    private DataSource secondReplica;
+
+    private ReadWriteRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        dataSource = new ReadWriteRoutingDataSource(primary, List.of(firstReplica, secondReplica),
+                new ReadYourWritesTracker(60_000, 100));
+    }
+
+    @AfterEach
+    void cleanup() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Work outside a transaction uses the primary")
+    void testNoTransaction_Primary() {
+        assertEquals(ReadWriteRoutingDataSource.PRIMARY, dataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    @DisplayName("Read-only transactions alternate between the replicas")
+    void testReadOnly_RoundRobin() {
+        beginTransaction(true);
+
+        assertEquals("replica-0", dataSource.determineCurrentLookupKey());
+        assertEquals("replica-1", dataSource.determineCurrentLookupKey());
+        assertEquals("replica-0", dataSource.determineCurrentLookupKey());
+    }
+
+    @Test
+    @DisplayName("After a committed write the same user reads from the primary, others do not")
+    void testReadYourWrites() {
+        authenticate("writer");
+        beginTransaction(false);
+        assertEquals(ReadWriteRoutingDataSource.PRIMARY, dataSource.determineCurrentLookupKey());
+        commit();
+
+        beginTransaction(true);
+        assertEquals(ReadWriteRoutingDataSource.PRIMARY, dataSource.determineCurrentLookupKey());
+
+        authenticate("reader");
+        assertTrue(dataSource.determineCurrentLookupKey().toString().startsWith("replica-"));
+    }
+
+    @Test
+    @DisplayName("A rolled back write does not make the user sticky")
+    void testRollback_NotSticky() {
+        authenticate("writer");
+        beginTransaction(false);
+        dataSource.determineCurrentLookupKey();
+        TransactionSynchronizationManager.clearSynchronization(); // rolled back: afterCommit never runs
+
+        beginTransaction(true);
+        assertTrue(dataSource.determineCurrentLookupKey().toString().startsWith("replica-"));
+    }
+
+    private static void beginTransaction(boolean readOnly) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.initSynchronization();
+        }
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+
+    private static void commit() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+    }
+
+    private static void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username, null, List.of()));
+    }
+}
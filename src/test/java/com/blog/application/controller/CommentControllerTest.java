@@ -1,8 +1,11 @@
 package com.blog.application.controller;
 
+import com.blog.application.dto.BulkCommentRequest;
 import com.blog.application.dto.CommentRequest;
 import com.blog.application.dto.CommentResponse;
+import com.blog.application.dto.CursorPage;
 import com.blog.application.exception.GlobalExceptionHandler;
+import com.blog.application.security.JwtAuthenticationFilter;
 import com.blog.application.service.CommentService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -14,11 +17,15 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.data.jpa.mapping.JpaMetamodelMappingContext;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 
-import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -27,7 +34,10 @@ import static org.mockito.ArgumentMatchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-@WebMvcTest(CommentController.class)
+// The JWT filter is a servlet filter component whose dependencies are not part of the MVC slice
+@WebMvcTest(value = CommentController.class, excludeFilters = @ComponentScan.Filter(
+        type = FilterType.ASSIGNABLE_TYPE, classes = JwtAuthenticationFilter.class))
+@MockBean(JpaMetamodelMappingContext.class) // @EnableJpaAuditing on the application class needs it
 @AutoConfigureMockMvc(addFilters = false)  // ✅ disables Spring Security filters during test
 @Import(GlobalExceptionHandler.class)      // ✅ hooks in your custom validation error format
 public class CommentControllerTest {
@@ -43,15 +53,14 @@ public class CommentControllerTest {
 
     @Test
     @DisplayName("POST /comments - success with authenticated user")
-    @WithMockUser(username = "testuser")
     void testCreateComment_Success() throws Exception {
         CommentRequest request = new CommentRequest("Nice post!", 1L);
         CommentResponse response = new CommentResponse(1L, "Nice post!", 1L, "testuser", LocalDateTime.now());
 
-        Mockito.when(commentService.createComment(any(CommentRequest.class), eq("testuser")))
+        Mockito.when(commentService.createComment(any(CommentRequest.class), argThat(user -> "testuser".equals(user.getUsername()))))
                 .thenReturn(response);
 
-        mockMvc.perform(post("/comments")
+        mockMvc.perform(post("/comments").with(testUser())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isCreated())
@@ -60,6 +69,37 @@ public class CommentControllerTest {
                 .andExpect(jsonPath("$.authorUsername").value("testuser"));
     }
 
+    @Test
+    @DisplayName("POST /comments/bulk - creates every comment")
+    void testCreateComments_Success() throws Exception {
+        BulkCommentRequest request = new BulkCommentRequest(List.of(
+                new CommentRequest("First!", 1L), new CommentRequest("Second!", 1L)));
+        List<CommentResponse> responses = List.of(
+                new CommentResponse(1L, "First!", 1L, "testuser", LocalDateTime.now()),
+                new CommentResponse(2L, "Second!", 1L, "testuser", LocalDateTime.now()));
+
+        Mockito.when(commentService.createComments(anyList(), argThat(user -> "testuser".equals(user.getUsername()))))
+                .thenReturn(responses);
+
+        mockMvc.perform(post("/comments/bulk").with(testUser())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].content").value("Second!"));
+    }
+
+    @Test
+    @DisplayName("POST /comments/bulk - invalid item rejected")
+    void testCreateComments_InvalidItem() throws Exception {
+        BulkCommentRequest request = new BulkCommentRequest(List.of(new CommentRequest("", 1L)));
+
+        mockMvc.perform(post("/comments/bulk").with(testUser())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("GET /comments?postId=x - fetch comments for post")
     void testGetCommentsByPostId() throws Exception {
@@ -72,6 +112,41 @@ public class CommentControllerTest {
                 .andExpect(jsonPath("$[0].authorUsername").value("user"));
     }
 
+    @Test
+    @DisplayName("GET /comments?postId=x&cursor= - fetch a page of comments")
+    void testGetCommentPage() throws Exception {
+        CommentResponse comment = new CommentResponse(1L, "Test comment", 1L, "user", LocalDateTime.now());
+        Mockito.when(commentService.getCommentPage(1L, "", 20))
+                .thenReturn(new CursorPage<>(List.of(comment), 20, "next-token", true));
+
+        mockMvc.perform(get("/comments").param("postId", "1").param("cursor", "").param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].content").value("Test comment"))
+                .andExpect(jsonPath("$.nextCursor").value("next-token"));
+    }
+
+    @Test
+    @DisplayName("GET /comments?postId=x&fields= - only the selected fields are serialized")
+    void testGetCommentsByPostId_SparseFields() throws Exception {
+        CommentResponse comment = new CommentResponse(1L, "Test comment", 1L, "user", LocalDateTime.now());
+        Mockito.when(commentService.getCommentsByPostId(1L)).thenReturn(List.of(comment));
+
+        mockMvc.perform(get("/comments").param("postId", "1").param("fields", "id,content"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].content").value("Test comment"))
+                .andExpect(jsonPath("$[0].authorUsername").doesNotExist())
+                .andExpect(jsonPath("$[0].postId").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("GET /comments/{id}?fields= - unknown field rejected")
+    void testGetCommentById_UnknownField() throws Exception {
+        mockMvc.perform(get("/comments/1").param("fields", "likes"))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verifyNoInteractions(commentService);
+    }
+
     @Test
     @DisplayName("GET /comments/{id} - fetch single comment by ID")
     void testGetCommentById() throws Exception {
@@ -86,15 +161,14 @@ public class CommentControllerTest {
 
     @Test
     @DisplayName("PUT /comments/{id} - update comment (auth user)")
-    @WithMockUser(username = "testuser")
     void testUpdateComment() throws Exception {
         CommentRequest request = new CommentRequest("Updated content", 1L);
         CommentResponse response = new CommentResponse(1L, "Updated content", 1L, "testuser", LocalDateTime.now());
 
-        Mockito.when(commentService.updateComment(eq(1L), any(CommentRequest.class), eq("testuser")))
+        Mockito.when(commentService.updateComment(eq(1L), any(CommentRequest.class), argThat(user -> "testuser".equals(user.getUsername()))))
                 .thenReturn(response);
 
-        mockMvc.perform(put("/comments/1")
+        mockMvc.perform(put("/comments/1").with(testUser())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isOk())
@@ -104,21 +178,19 @@ public class CommentControllerTest {
 
     @Test
     @DisplayName("DELETE /comments/{id} - delete comment (auth user)")
-    @WithMockUser(username = "testuser")
     void testDeleteComment() throws Exception {
-        mockMvc.perform(delete("/comments/1"))
+        mockMvc.perform(delete("/comments/1").with(testUser()))
                 .andExpect(status().isNoContent());
 
-        Mockito.verify(commentService).deleteComment(1L, "testuser");
+        Mockito.verify(commentService).deleteComment(eq(1L), argThat(user -> "testuser".equals(user.getUsername())));
     }
 
     @Test
     @DisplayName("POST /comments - validation fail (missing content and postId)")
-    @WithMockUser(username = "testuser")
     void testCreateComment_ValidationFail() throws Exception {
         CommentRequest invalidRequest = new CommentRequest();  // No content, no postId
 
-        mockMvc.perform(post("/comments")
+        mockMvc.perform(post("/comments").with(testUser())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(invalidRequest)))
                 .andExpect(status().isBadRequest())
@@ -127,4 +199,12 @@ public class CommentControllerTest {
                 .andExpect(jsonPath("$.validationErrors.content").exists())
                 .andExpect(jsonPath("$.validationErrors.postId").exists());
     }
+
+    // Security filters are off in this slice, so the principal the controllers read is set on the request directly
+    private static RequestPostProcessor testUser() {
+        return request -> {
+            request.setUserPrincipal(new UsernamePasswordAuthenticationToken("testuser", null, List.of()));
+            return request;
+        };
+    }
 }
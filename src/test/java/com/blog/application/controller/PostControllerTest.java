@@ -1,9 +1,15 @@
 package com.blog.application.controller;
 
+import com.blog.application.dto.BulkPostRequest;
+import com.blog.application.dto.CursorPage;
 import com.blog.application.dto.PostRequest;
 import com.blog.application.dto.PostResponse;
+import com.blog.application.dto.PostSummaryResponse;
 import com.blog.application.exception.GlobalExceptionHandler;
+import com.blog.application.security.JwtAuthenticationFilter;
 import com.blog.application.service.PostService;
+import com.blog.application.util.FieldSelection;
+import com.blog.application.util.ResourceVersion;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import org.junit.jupiter.api.DisplayName;
@@ -14,13 +20,18 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.data.jpa.mapping.JpaMetamodelMappingContext;
 import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
-import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -29,7 +40,10 @@ import static org.mockito.ArgumentMatchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-@WebMvcTest(PostController.class)
+// The JWT filter is a servlet filter component whose dependencies are not part of the MVC slice
+@WebMvcTest(value = PostController.class, excludeFilters = @ComponentScan.Filter(
+        type = FilterType.ASSIGNABLE_TYPE, classes = JwtAuthenticationFilter.class))
+@MockBean(JpaMetamodelMappingContext.class) // @EnableJpaAuditing on the application class needs it
 @AutoConfigureMockMvc(addFilters = false)
 @Import(GlobalExceptionHandler.class)
 public class PostControllerTest {
@@ -55,9 +69,20 @@ public class PostControllerTest {
         return post;
     }
 
+    private PostSummaryResponse createMockPostSummary() {
+        return new PostSummaryResponse(1L, "Test Title", "Test Content", "testuser",
+                LocalDateTime.now(), LocalDateTime.now(), 5);
+    }
+
+    private ResourceVersion createVersion(String tag) {
+        return ResourceVersion.builder()
+                .add(tag)
+                .modifiedAt(LocalDateTime.of(2024, 1, 1, 12, 0))
+                .build();
+    }
+
     @Test
     @DisplayName("✅ POST /posts - Create Post Successfully")
-    @WithMockUser(username = "testuser")
     void testCreatePost() throws Exception {
         PostRequest request = new PostRequest();
         request.setTitle("New Post");
@@ -65,10 +90,10 @@ public class PostControllerTest {
 
         PostResponse response = createMockPostResponse();
 
-        Mockito.when(postService.createPost(any(PostRequest.class), eq("testuser")))
+        Mockito.when(postService.createPost(any(PostRequest.class), argThat(user -> "testuser".equals(user.getUsername()))))
                 .thenReturn(response);
 
-        mockMvc.perform(post("/posts")
+        mockMvc.perform(post("/posts").with(testUser())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isCreated())
@@ -76,12 +101,40 @@ public class PostControllerTest {
                 .andExpect(jsonPath("$.authorUsername").value("testuser"));
     }
 
+    @Test
+    @DisplayName("✅ POST /posts/bulk - Create Posts In One Request")
+    void testCreatePosts() throws Exception {
+        PostRequest request = new PostRequest();
+        request.setTitle("New Post");
+        request.setContent("Post content");
+
+        Mockito.when(postService.createPosts(anyList(), argThat(user -> "testuser".equals(user.getUsername()))))
+                .thenReturn(List.of(createMockPostResponse(), createMockPostResponse()));
+
+        mockMvc.perform(post("/posts/bulk").with(testUser())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BulkPostRequest(List.of(request, request)))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].title").value("Test Title"));
+    }
+
+    @Test
+    @DisplayName("❌ POST /posts/bulk - Empty Batch Rejected")
+    void testCreatePosts_Empty() throws Exception {
+        mockMvc.perform(post("/posts/bulk").with(testUser())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BulkPostRequest(List.of()))))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("✅ GET /posts - Get All Posts With Pagination")
     void testGetAllPosts() throws Exception {
-        PostResponse post = createMockPostResponse();
-        Page<PostResponse> page = new PageImpl<>(List.of(post));
+        PostSummaryResponse post = createMockPostSummary();
+        Page<PostSummaryResponse> page = new PageImpl<>(List.of(post));
 
+        Mockito.when(postService.getPostsVersion(page)).thenReturn(createVersion("page"));
         Mockito.when(postService.getAllPosts(any(PageRequest.class)))
                 .thenReturn(page);
 
@@ -89,24 +142,173 @@ public class PostControllerTest {
                         .param("page", "0")
                         .param("size", "10"))
                 .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$.content[0].title").value("Test Title"))
+                .andExpect(jsonPath("$.content[0].excerpt").value("Test Content"))
+                .andExpect(jsonPath("$.content[0].content").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("✅ GET /posts - If-Modified-Since alone never returns 304 for a page")
+    void testGetAllPosts_IfModifiedSinceIgnored() throws Exception {
+        Page<PostSummaryResponse> page = new PageImpl<>(List.of(createMockPostSummary()));
+
+        Mockito.when(postService.getPostsVersion(page))
+                .thenReturn(ResourceVersion.builder().add("page").buildEtagOnly());
+        Mockito.when(postService.getAllPosts(any(PageRequest.class))).thenReturn(page);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfModifiedSince(System.currentTimeMillis());
+
+        mockMvc.perform(get("/posts").headers(headers))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(header().doesNotExist("Last-Modified"))
                 .andExpect(jsonPath("$.content[0].title").value("Test Title"));
     }
 
+    @Test
+    @DisplayName("✅ GET /posts - Matching If-None-Match returns 304 from the page read once")
+    void testGetAllPosts_NotModifiedByEtag() throws Exception {
+        Page<PostSummaryResponse> page = new PageImpl<>(List.of(createMockPostSummary()));
+        ResourceVersion version = ResourceVersion.builder().add("page").buildEtagOnly();
+
+        Mockito.when(postService.getAllPosts(any(PageRequest.class))).thenReturn(page);
+        Mockito.when(postService.getPostsVersion(page)).thenReturn(version);
+
+        mockMvc.perform(get("/posts").header("If-None-Match", version.getEtag()))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        Mockito.verify(postService, Mockito.times(1)).getAllPosts(any(PageRequest.class));
+    }
+
+    @Test
+    @DisplayName("✅ GET /posts?cursor= - Get Posts With Cursor Pagination")
+    void testGetPostFeed() throws Exception {
+        PostSummaryResponse post = createMockPostSummary();
+        CursorPage<PostSummaryResponse> page = new CursorPage<>(List.of(post), 10, "next-token", true);
+
+        Mockito.when(postService.getFeedVersion("", 10)).thenReturn(createVersion("feed"));
+        Mockito.when(postService.getPostFeed("", 10)).thenReturn(page);
+
+        mockMvc.perform(get("/posts")
+                        .param("cursor", "")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].title").value("Test Title"))
+                .andExpect(jsonPath("$.nextCursor").value("next-token"))
+                .andExpect(jsonPath("$.hasNext").value(true));
+
+        Mockito.verify(postService, Mockito.never()).getAllPosts(any());
+    }
+
     @Test
     @DisplayName("✅ GET /posts/{id} - Get Post by ID")
     void testGetPostById() throws Exception {
         PostResponse post = createMockPostResponse();
 
-        Mockito.when(postService.getPostById(1L)).thenReturn(post);
+        ResourceVersion version = createVersion("post-1");
+
+        Mockito.when(postService.getPostVersion(1L)).thenReturn(version);
+        Mockito.when(postService.getPostById(1L, FieldSelection.all())).thenReturn(post);
 
         mockMvc.perform(get("/posts/1"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", version.getEtag()))
+                .andExpect(header().exists("Last-Modified"))
+                .andExpect(header().string("Cache-Control", "no-cache"))
                 .andExpect(jsonPath("$.title").value("Test Title"));
     }
 
+    @Test
+    @DisplayName("✅ GET /posts/{id} - Matching If-None-Match returns 304 without loading the post")
+    void testGetPostById_NotModifiedByEtag() throws Exception {
+        ResourceVersion version = createVersion("post-1");
+
+        Mockito.when(postService.getPostVersion(1L)).thenReturn(version);
+
+        mockMvc.perform(get("/posts/1").header("If-None-Match", version.getEtag()))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        Mockito.verify(postService, Mockito.never()).getPostById(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("✅ GET /posts/{id} - If-Modified-Since at the last change returns 304")
+    void testGetPostById_NotModifiedSince() throws Exception {
+        ResourceVersion version = createVersion("post-1");
+
+        Mockito.when(postService.getPostVersion(1L)).thenReturn(version);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfModifiedSince(version.getLastModified());
+
+        mockMvc.perform(get("/posts/1").headers(headers))
+                .andExpect(status().isNotModified());
+
+        Mockito.verify(postService, Mockito.never()).getPostById(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("✅ GET /posts/{id} - Stale If-None-Match gets the full body")
+    void testGetPostById_ModifiedEtag() throws Exception {
+        PostResponse post = createMockPostResponse();
+
+        Mockito.when(postService.getPostVersion(1L)).thenReturn(createVersion("post-1-v2"));
+        Mockito.when(postService.getPostById(1L, FieldSelection.all())).thenReturn(post);
+
+        mockMvc.perform(get("/posts/1").header("If-None-Match", createVersion("post-1").getEtag()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Test Title"));
+    }
+
+    @Test
+    @DisplayName("✅ GET /posts/{id}?fields= - Only the selected fields are serialized")
+    void testGetPostById_SparseFields() throws Exception {
+        PostResponse post = createMockPostResponse();
+
+        Mockito.when(postService.getPostVersion(1L)).thenReturn(createVersion("post-1"));
+        Mockito.when(postService.getPostById(eq(1L), any(FieldSelection.class))).thenReturn(post);
+
+        mockMvc.perform(get("/posts/1").param("fields", "id,title,commentCount"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.title").value("Test Title"))
+                .andExpect(jsonPath("$.commentCount").value(5))
+                .andExpect(jsonPath("$.content").doesNotExist())
+                .andExpect(jsonPath("$.authorUsername").doesNotExist());
+
+        Mockito.verify(postService).getPostById(eq(1L), argThat(fields -> !fields.includes("content")));
+    }
+
+    @Test
+    @DisplayName("✅ GET /posts?fields= - Selection applies to each item, not the page envelope")
+    void testGetAllPosts_SparseFields() throws Exception {
+        Page<PostSummaryResponse> page = new PageImpl<>(List.of(createMockPostSummary()));
+
+        Mockito.when(postService.getPostsVersion(page)).thenReturn(createVersion("page"));
+        Mockito.when(postService.getAllPosts(any(PageRequest.class))).thenReturn(page);
+
+        mockMvc.perform(get("/posts").param("fields", "id, title"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].title").value("Test Title"))
+                .andExpect(jsonPath("$.content[0].excerpt").doesNotExist())
+                .andExpect(jsonPath("$.totalElements").value(1));
+    }
+
+    @Test
+    @DisplayName("❌ GET /posts/{id}?fields= - Unknown field is rejected before any lookup")
+    void testGetPostById_UnknownField() throws Exception {
+        mockMvc.perform(get("/posts/1").param("fields", "id,body"))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verifyNoInteractions(postService);
+    }
+
     @Test
     @DisplayName("✅ PUT /posts/{id} - Update Post")
-    @WithMockUser(username = "testuser")
     void testUpdatePost() throws Exception {
         PostRequest request = new PostRequest();
         request.setTitle("Updated Title");
@@ -116,10 +318,10 @@ public class PostControllerTest {
         updatedPost.setTitle("Updated Title");
         updatedPost.setContent("Updated Content");
 
-        Mockito.when(postService.updatePost(eq(1L), any(PostRequest.class), eq("testuser")))
+        Mockito.when(postService.updatePost(eq(1L), any(PostRequest.class), argThat(user -> "testuser".equals(user.getUsername()))))
                 .thenReturn(updatedPost);
 
-        mockMvc.perform(put("/posts/1")
+        mockMvc.perform(put("/posts/1").with(testUser())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isOk())
@@ -129,19 +331,18 @@ public class PostControllerTest {
 
     @Test
     @DisplayName("✅ DELETE /posts/{id} - Delete Post")
-    @WithMockUser(username = "testuser")
     void testDeletePost() throws Exception {
-        mockMvc.perform(delete("/posts/1"))
+        mockMvc.perform(delete("/posts/1").with(testUser()))
                 .andExpect(status().isNoContent());
 
-        Mockito.verify(postService).deletePost(1L, "testuser");
+        Mockito.verify(postService).deletePost(eq(1L), argThat(user -> "testuser".equals(user.getUsername())));
     }
 
     @Test
     @DisplayName("✅ GET /posts/search - Search Posts By Keyword")
     void testSearchPosts() throws Exception {
-        PostResponse post = createMockPostResponse();
-        Page<PostResponse> page = new PageImpl<>(List.of(post));
+        PostSummaryResponse post = createMockPostSummary();
+        Page<PostSummaryResponse> page = new PageImpl<>(List.of(post));
 
         Mockito.when(postService.searchPosts(eq("Test"), any(PageRequest.class)))
                 .thenReturn(page);
@@ -156,18 +357,25 @@ public class PostControllerTest {
 
     @Test
     @DisplayName("❌ POST /posts - Validation Fail (Blank Title)")
-    @WithMockUser(username = "testuser")
     void testCreatePost_ValidationFail() throws Exception {
         PostRequest request = new PostRequest();
         request.setTitle("");  // ❌ Invalid
         request.setContent("Valid Content");
 
-        mockMvc.perform(post("/posts")
+        mockMvc.perform(post("/posts").with(testUser())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.error").value("Validation Failed"))
                 .andExpect(jsonPath("$.message").value("Invalid input data"))
-                .andExpect(jsonPath("$.validationErrors.title").value("Title must not be blank"));
+                .andExpect(jsonPath("$.validationErrors.title").value("Title is required"));
+    }
+
+    // Security filters are off in this slice, so the principal the controllers read is set on the request directly
+    private static RequestPostProcessor testUser() {
+        return request -> {
+            request.setUserPrincipal(new UsernamePasswordAuthenticationToken("testuser", null, List.of()));
+            return request;
+        };
     }
 }
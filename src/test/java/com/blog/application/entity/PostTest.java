@@ -0,0 +1,50 @@
+package com.blog.application.entity;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostTest {
+
+    @Test
+    @DisplayName("Excerpt - short content is kept with whitespace collapsed")
+    void testExcerptOf_ShortContent() {
+        assertEquals("Hello world", Post.excerptOf("  Hello\n\n  world  "));
+        assertNull(Post.excerptOf(null));
+    }
+
+    @Test
+    @DisplayName("Excerpt - long content is cut at a word boundary")
+    void testExcerptOf_CutsAtWordBoundary() {
+        String content = "word ".repeat(100);
+
+        String excerpt = Post.excerptOf(content);
+
+        assertTrue(excerpt.endsWith("word…"));
+        assertTrue(excerpt.length() <= Post.EXCERPT_LENGTH + 1);
+    }
+
+    @Test
+    @DisplayName("Excerpt - content without spaces is cut at the limit, never inside a surrogate pair")
+    void testExcerptOf_NoSpaces() {
+        String content = "a".repeat(Post.EXCERPT_LENGTH - 1) + "😀" + "b".repeat(50);
+
+        String excerpt = Post.excerptOf(content);
+
+        assertEquals("a".repeat(Post.EXCERPT_LENGTH - 1) + "…", excerpt);
+    }
+
+    @Test
+    @DisplayName("Excerpt - refreshed from content before insert and update")
+    void testRefreshExcerpt() {
+        Post post = new Post();
+        post.setContent("First");
+        post.refreshExcerpt();
+        assertEquals("First", post.getExcerpt());
+
+        post.setContent("Second");
+        post.refreshExcerpt();
+        assertEquals("Second", post.getExcerpt());
+    }
+}
@@ -0,0 +1,92 @@
+package com.blog.application.integration;
+
+import com.blog.application.dto.PostRequest;
+import com.blog.application.entity.User;
+import com.blog.application.repository.UserRepository;
+import com.blog.application.security.AuthenticatedUser;
+import com.blog.application.service.PostService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Rows/sec of one-at-a-time post creation against {@link PostService#createPosts}, which sends
+ * batched INSERTs with pooled ids. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:bulkinsert;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.jpa.properties.hibernate.order_inserts=true"
+})
+public class BulkInsertBenchmarkTest {
+
+    private static final int ROWS = 2_000;
+    private static final int BATCH = 500;
+
+    @Autowired private PostService postService;
+    @Autowired private UserRepository userRepository;
+
+    @Test
+    @DisplayName("Bulk post creation inserts more rows per second than single creates")
+    void bulkVersusSingleInserts() {
+        User user = new User();
+        user.setUsername("bulkUser");
+        user.setEmail("bulk@example.com");
+        user.setPassword("not-a-real-hash");
+        user.setRole(User.Role.USER);
+        AuthenticatedUser principal = AuthenticatedUser.fromUser(userRepository.save(user));
+
+        // warm-up
+        insertSingly(principal, 200);
+        insertInBatches(principal, 200);
+
+        long singleNanos = insertSingly(principal, ROWS);
+        long bulkNanos = insertInBatches(principal, ROWS);
+
+        double singleRate = ROWS / (singleNanos / 1e9);
+        double bulkRate = ROWS / (bulkNanos / 1e9);
+        System.out.printf("Single creates: %.0f rows/sec%n", singleRate);
+        System.out.printf("Bulk creates (%d per request): %.0f rows/sec (%.1fx)%n", BATCH, bulkRate, bulkRate / singleRate);
+    }
+
+    private long insertSingly(AuthenticatedUser principal, int rows) {
+        long start = System.nanoTime();
+        for (int i = 0; i < rows; i++) {
+            postService.createPost(request(i), principal);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private long insertInBatches(AuthenticatedUser principal, int rows) {
+        long start = System.nanoTime();
+        for (int offset = 0; offset < rows; offset += BATCH) {
+            List<PostRequest> batch = new ArrayList<>(BATCH);
+            for (int i = offset; i < Math.min(rows, offset + BATCH); i++) {
+                batch.add(request(i));
+            }
+            assertEquals(batch.size(), postService.createPosts(batch, principal).size());
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static PostRequest request(int i) {
+        PostRequest request = new PostRequest();
+        request.setTitle("Bulk post " + i);
+        request.setContent("Content of bulk post " + i);
+        return request;
+    }
+}
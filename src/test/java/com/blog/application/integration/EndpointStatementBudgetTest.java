@@ -0,0 +1,330 @@
+package com.blog.application.integration;
+
+import com.blog.application.dto.BulkCommentRequest;
+import com.blog.application.dto.BulkPostRequest;
+import com.blog.application.dto.CommentRequest;
+import com.blog.application.dto.LoginRequest;
+import com.blog.application.dto.PostRequest;
+import com.blog.application.dto.RegisterRequest;
+import com.blog.application.entity.Comment;
+import com.blog.application.entity.Post;
+import com.blog.application.entity.User;
+import com.blog.application.repository.CommentRepository;
+import com.blog.application.repository.PostRepository;
+import com.blog.application.repository.UserRepository;
+import com.blog.application.security.AuthenticatedUser;
+import com.blog.application.util.JwtUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * SQL statement budget per endpoint, so an N+1 fails the build instead of shipping. Budgets are
+ * measured on the database path: the hot feed cache is off and every read in a test targets
+ * rows no earlier request has cached. Lists are read with more rows than fit on one page, so a
+ * per-row query would blow the budget by dozens of statements.
+ * <p>
+ * Ids come from pooled table generators; a write may have to reserve a new id block first,
+ * which costs a SELECT and an UPDATE on the generator table and is included in its budget.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:statement-budget;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "app.posts.feed-cache.window-size=0",
+        "app.comments.reconcile.initial-delay-ms=3600000",
+        "app.security.bcrypt.strength=4"
+})
+@AutoConfigureMockMvc
+public class EndpointStatementBudgetTest {
+
+    private static final int SEEDED_POSTS = 60;
+    private static final int SEEDED_COMMENTS = 30;
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private UserRepository userRepository;
+    @Autowired private PostRepository postRepository;
+    @Autowired private CommentRepository commentRepository;
+    @Autowired private JwtUtil jwtUtil;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    private StatementBudget budget;
+    private User author;
+    private String token;
+    private Long postId;
+
+    @BeforeEach
+    void setUp() {
+        budget = new StatementBudget(entityManagerFactory);
+        author = saveUser("budgetAuthor" + SEQUENCE.incrementAndGet(), User.Role.USER);
+        token = jwtUtil.generateToken(AuthenticatedUser.fromUser(author));
+
+        List<Post> posts = new ArrayList<>(SEEDED_POSTS);
+        for (int i = 0; i < SEEDED_POSTS; i++) {
+            posts.add(newPost("Budget post " + i));
+        }
+        posts = postRepository.saveAll(posts);
+
+        Post discussed = posts.get(posts.size() - 1);
+        List<Comment> comments = new ArrayList<>(SEEDED_COMMENTS);
+        for (int i = 0; i < SEEDED_COMMENTS; i++) {
+            Comment comment = new Comment();
+            comment.setContent("Budget comment " + i);
+            comment.setPost(discussed);
+            comment.setAuthor(author);
+            comments.add(comment);
+        }
+        commentRepository.saveAll(comments);
+        postRepository.adjustCommentCount(discussed.getId(), SEEDED_COMMENTS, LocalDateTime.now());
+        postId = discussed.getId();
+    }
+
+    @Test
+    @DisplayName("GET /posts?size=50: page and count, the ETag is built from the page")
+    void testGetAllPosts() throws Exception {
+        expect("GET /posts?size=50", 2, get("/posts").param("size", "50"));
+    }
+
+    @Test
+    @DisplayName("GET /posts?cursor=: validators and page, no count")
+    void testGetPostFeed() throws Exception {
+        expect("GET /posts?cursor=&size=50", 2, get("/posts").param("cursor", "").param("size", "50"));
+    }
+
+    @Test
+    @DisplayName("GET /posts/{id}: validators and the post with its author")
+    void testGetPostById() throws Exception {
+        expect("GET /posts/{id}", 2, get("/posts/" + postId));
+    }
+
+    @Test
+    @DisplayName("GET /posts/{id}?fields=: validators and the summary columns")
+    void testGetPostById_Sparse() throws Exception {
+        expect("GET /posts/{id}?fields=id,title", 2, get("/posts/" + postId).param("fields", "id,title"));
+    }
+
+    @Test
+    @DisplayName("GET /posts/search: one summary query for the ranked ids")
+    void testSearchPosts() throws Exception {
+        // 2 while the index is still building: the LIKE fallback and its count
+        expect("GET /posts/search", 2, get("/posts/search").param("keyword", "budget").param("size", "50"));
+    }
+
+    @Test
+    @DisplayName("GET /comments?postId=: existence check and one page with authors")
+    void testGetCommentsByPostId() throws Exception {
+        expect("GET /comments?postId=", 2, get("/comments").param("postId", postId.toString()));
+    }
+
+    @Test
+    @DisplayName("GET /comments?postId=&cursor=: existence check and one page with authors")
+    void testGetCommentPage() throws Exception {
+        expect("GET /comments?postId=&cursor=", 2, get("/comments")
+                .param("postId", postId.toString()).param("cursor", "").param("size", "20"));
+    }
+
+    @Test
+    @DisplayName("GET /comments/{id}: the comment with its author")
+    void testGetCommentById() throws Exception {
+        Long commentId = saveComment(postId).getId();
+
+        expect("GET /comments/{id}", 1, get("/comments/" + commentId));
+    }
+
+    @Test
+    @DisplayName("POST /posts: insert, no author lookup")
+    void testCreatePost() throws Exception {
+        PostRequest request = new PostRequest();
+        request.setTitle("New budget post");
+        request.setContent("Content");
+
+        expect("POST /posts", 3, authorized(post("/posts")).content(objectMapper.writeValueAsString(request)));
+    }
+
+    @Test
+    @DisplayName("POST /posts/bulk: one batched insert for all posts")
+    void testCreatePosts() throws Exception {
+        List<PostRequest> posts = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            PostRequest request = new PostRequest();
+            request.setTitle("Bulk budget post " + i);
+            request.setContent("Content " + i);
+            posts.add(request);
+        }
+        BulkPostRequest request = new BulkPostRequest();
+        request.setPosts(posts);
+
+        expect("POST /posts/bulk", 3, authorized(post("/posts/bulk")).content(objectMapper.writeValueAsString(request)));
+    }
+
+    @Test
+    @DisplayName("PUT /posts/{id}: load and update in one transaction")
+    void testUpdatePost() throws Exception {
+        Long ownPost = postRepository.save(newPost("To update")).getId();
+        PostRequest request = new PostRequest();
+        request.setTitle("Updated");
+        request.setContent("Updated content");
+
+        expect("PUT /posts/{id}", 2, authorized(put("/posts/" + ownPost)).content(objectMapper.writeValueAsString(request)));
+    }
+
+    @Test
+    @DisplayName("DELETE /posts/{id}: load, cascade check and delete")
+    void testDeletePost() throws Exception {
+        Long ownPost = postRepository.save(newPost("To delete")).getId();
+
+        expect("DELETE /posts/{id}", 3, authorized(delete("/posts/" + ownPost)));
+    }
+
+    @Test
+    @DisplayName("POST /comments: existence check, insert and counter update")
+    void testCreateComment() throws Exception {
+        CommentRequest request = new CommentRequest();
+        request.setContent("New budget comment");
+        request.setPostId(postId);
+
+        expect("POST /comments", 5, authorized(post("/comments")).content(objectMapper.writeValueAsString(request)));
+    }
+
+    @Test
+    @DisplayName("POST /comments/bulk: one post lookup, one batched insert, one counter update per post")
+    void testCreateComments() throws Exception {
+        List<CommentRequest> comments = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            CommentRequest request = new CommentRequest();
+            request.setContent("Bulk budget comment " + i);
+            request.setPostId(postId);
+            comments.add(request);
+        }
+        BulkCommentRequest request = new BulkCommentRequest();
+        request.setComments(comments);
+
+        expect("POST /comments/bulk", 5, authorized(post("/comments/bulk")).content(objectMapper.writeValueAsString(request)));
+    }
+
+    @Test
+    @DisplayName("PUT /comments/{id}: load and update in one transaction")
+    void testUpdateComment() throws Exception {
+        Long commentId = saveComment(postId).getId();
+        CommentRequest request = new CommentRequest();
+        request.setContent("Edited");
+        request.setPostId(postId);
+
+        expect("PUT /comments/{id}", 2, authorized(put("/comments/" + commentId)).content(objectMapper.writeValueAsString(request)));
+    }
+
+    @Test
+    @DisplayName("DELETE /comments/{id}: load, delete and counter update")
+    void testDeleteComment() throws Exception {
+        Long commentId = saveComment(postId).getId();
+
+        expect("DELETE /comments/{id}", 3, authorized(delete("/comments/" + commentId)));
+    }
+
+    @Test
+    @DisplayName("POST /auth/register: two uniqueness checks and the insert")
+    void testRegister() throws Exception {
+        RegisterRequest request = new RegisterRequest();
+        request.setUsername("budgetRegister" + SEQUENCE.incrementAndGet());
+        request.setEmail(request.getUsername() + "@example.com");
+        request.setPassword("password123");
+
+        expect("POST /auth/register", 5, post("/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)));
+    }
+
+    @Test
+    @DisplayName("POST /auth/login: one user lookup at most")
+    void testLogin() throws Exception {
+        RegisterRequest register = new RegisterRequest();
+        register.setUsername("budgetLogin" + SEQUENCE.incrementAndGet());
+        register.setEmail(register.getUsername() + "@example.com");
+        register.setPassword("password123");
+        mockMvc.perform(post("/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(register)))
+                .andExpect(status().isCreated());
+
+        LoginRequest login = new LoginRequest();
+        login.setUsername(register.getUsername());
+        login.setPassword(register.getPassword());
+
+        expect("POST /auth/login", 2, post("/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(login)));
+    }
+
+    @Test
+    @DisplayName("GET /export/posts and /export/comments: one streaming query each")
+    void testExport() throws Exception {
+        User admin = saveUser("budgetAdmin" + SEQUENCE.incrementAndGet(), User.Role.ADMIN);
+        String adminToken = jwtUtil.generateToken(AuthenticatedUser.fromUser(admin));
+
+        for (String path : List.of("/export/posts", "/export/comments")) {
+            budget.expect("GET " + path, 1, () -> {
+                MvcResult started = mockMvc.perform(get(path).header("Authorization", "Bearer " + adminToken))
+                        .andExpect(request().asyncStarted())
+                        .andReturn();
+                return mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk());
+            });
+        }
+    }
+
+    private void expect(String endpoint, int statements, MockHttpServletRequestBuilder request) throws Exception {
+        budget.expect(endpoint, statements, () -> mockMvc.perform(request).andExpect(status().is2xxSuccessful()));
+    }
+
+    private MockHttpServletRequestBuilder authorized(MockHttpServletRequestBuilder request) {
+        return request.header("Authorization", "Bearer " + token).contentType(MediaType.APPLICATION_JSON);
+    }
+
+    private User saveUser(String username, User.Role role) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("not-a-real-hash");
+        user.setRole(role);
+        return userRepository.save(user);
+    }
+
+    private Post newPost(String title) {
+        Post post = new Post();
+        post.setTitle(title);
+        post.setContent("Content of " + title);
+        post.setAuthor(author);
+        return post;
+    }
+
+    private Comment saveComment(Long targetPostId) {
+        Comment comment = new Comment();
+        comment.setContent("Budget comment");
+        comment.setPost(postRepository.getReferenceById(targetPostId));
+        comment.setAuthor(author);
+        return commentRepository.save(comment);
+    }
+}
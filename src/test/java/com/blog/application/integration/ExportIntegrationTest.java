@@ -0,0 +1,126 @@
+package com.blog.application.integration;
+
+import com.blog.application.dto.CommentRequest;
+import com.blog.application.dto.PostRequest;
+import com.blog.application.entity.User;
+import com.blog.application.repository.UserRepository;
+import com.blog.application.security.AuthenticatedUser;
+import com.blog.application.util.JwtUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:export;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "app.export.clear-every=2"
+})
+@AutoConfigureMockMvc
+public class ExportIntegrationTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private UserRepository userRepository;
+    @Autowired private JwtUtil jwtUtil;
+
+    private String userToken;
+    private String adminToken;
+
+    @BeforeEach
+    void setUp() {
+        userToken = tokenFor("exportUser", User.Role.USER);
+        adminToken = tokenFor("exportAdmin", User.Role.ADMIN);
+    }
+
+    @Test
+    @DisplayName("Posts and grouped comments stream as NDJSON")
+    void testExport() throws Exception {
+        List<Long> postIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            PostRequest post = new PostRequest();
+            post.setTitle("Export post " + i);
+            post.setContent("Content " + i);
+            String json = mockMvc.perform(post("/posts")
+                            .header("Authorization", "Bearer " + userToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(post)))
+                    .andExpect(status().isCreated())
+                    .andReturn().getResponse().getContentAsString();
+            postIds.add(objectMapper.readTree(json).get("id").asLong());
+        }
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(post("/comments")
+                            .header("Authorization", "Bearer " + userToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new CommentRequest("Comment " + i, postIds.get(i % 2)))))
+                    .andExpect(status().isCreated());
+        }
+
+        List<JsonNode> posts = export("/export/posts");
+        assertTrue(posts.size() >= 5);
+        assertTrue(posts.stream().anyMatch(node -> "Export post 4".equals(node.get("title").asText())));
+
+        List<JsonNode> groups = export("/export/comments");
+        JsonNode first = groups.stream()
+                .filter(node -> node.get("postId").asLong() == postIds.get(0))
+                .findFirst().orElseThrow();
+        assertEquals(2, first.get("comments").size());
+        assertEquals("Comment 0", first.get("comments").get(0).get("content").asText());
+        assertEquals("exportUser", first.get("comments").get(0).get("authorUsername").asText());
+    }
+
+    @Test
+    @DisplayName("Export requires the ADMIN role")
+    void testExport_Forbidden() throws Exception {
+        mockMvc.perform(get("/export/posts").header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isForbidden());
+    }
+
+    private List<JsonNode> export(String path) throws Exception {
+        MvcResult started = mockMvc.perform(get(path).header("Authorization", "Bearer " + adminToken))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        return lines;
+    }
+
+    private String tokenFor(String username, User.Role role) {
+        User user = userRepository.findByUsername(username).orElseGet(() -> {
+            User created = new User();
+            created.setUsername(username);
+            created.setEmail(username + "@example.com");
+            created.setPassword("not-a-real-hash");
+            created.setRole(role);
+            return userRepository.save(created);
+        });
+        return jwtUtil.generateToken(AuthenticatedUser.fromUser(user));
+    }
+}
@@ -0,0 +1,154 @@
+package com.blog.application.integration;
+
+import com.blog.application.dto.LoginRequest;
+import com.blog.application.dto.PostRequest;
+import com.blog.application.dto.RegisterRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Read latency while a login burst saturates the BCrypt pool. Logins beyond the pool's capacity
+ * are shed with 503, and GET /posts keeps its latency because hashing can only use the pool's
+ * threads. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:loginburst;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "app.security.bcrypt.strength=12",
+        "app.security.bcrypt.threads=2",
+        "app.security.bcrypt.queue-capacity=8"
+})
+@AutoConfigureMockMvc
+public class LoginBurstLoadTest {
+
+    private static final int LOGIN_CLIENTS = 64;
+    private static final int READ_SAMPLES = 300;
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Read latency stays stable during a login burst")
+    void readLatencyDuringLoginBurst() throws Exception {
+        String token = register("burstUser", "burst@example.com", "password");
+        for (int i = 0; i < 20; i++) {
+            PostRequest request = new PostRequest();
+            request.setTitle("Post " + i);
+            request.setContent("Content " + i);
+            mockMvc.perform(post("/posts")
+                            .header("Authorization", "Bearer " + token)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated());
+        }
+
+        sampleReads(READ_SAMPLES); // warm-up
+        long[] baseline = sampleReads(READ_SAMPLES);
+
+        String loginBody = objectMapper.writeValueAsString(new LoginRequest("burstUser", "password"));
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger shed = new AtomicInteger();
+        ExecutorService clients = Executors.newFixedThreadPool(LOGIN_CLIENTS);
+        long[] underLoad;
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < LOGIN_CLIENTS; i++) {
+                futures.add(clients.submit(() -> {
+                    while (running.get()) {
+                        int code = mockMvc.perform(post("/auth/login")
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .content(loginBody))
+                                .andReturn().getResponse().getStatus();
+                        if (code == 200) {
+                            succeeded.incrementAndGet();
+                        } else if (code == 503) {
+                            shed.incrementAndGet();
+                        } else {
+                            fail("Unexpected login status " + code);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            Thread.sleep(500); // let the burst fill the pool
+            underLoad = sampleReads(READ_SAMPLES);
+            running.set(false);
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            clients.shutdownNow();
+            clients.awaitTermination(10, TimeUnit.SECONDS);
+        }
+
+        System.out.printf("GET /posts p50/p99 baseline: %.2f/%.2f ms, during burst: %.2f/%.2f ms; logins ok=%d shed=%d%n",
+                millis(percentile(baseline, 50)), millis(percentile(baseline, 99)),
+                millis(percentile(underLoad, 50)), millis(percentile(underLoad, 99)),
+                succeeded.get(), shed.get());
+
+        assertTrue(succeeded.get() > 0);
+        assertTrue(shed.get() > 0, "burst should exceed the pool and be shed with 503");
+        long allowedP99 = Math.max(percentile(baseline, 99) * 5, TimeUnit.MILLISECONDS.toNanos(50));
+        assertTrue(percentile(underLoad, 99) <= allowedP99,
+                "read p99 degraded beyond 5x baseline during the login burst");
+    }
+
+    private String register(String username, String email, String password) throws Exception {
+        RegisterRequest register = new RegisterRequest(username, email, password);
+        String json = mockMvc.perform(post("/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(register)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(json).get("token").asText();
+    }
+
+    private long[] sampleReads(int samples) throws Exception {
+        long[] latencies = new long[samples];
+        for (int i = 0; i < samples; i++) {
+            long start = System.nanoTime();
+            mockMvc.perform(get("/posts")).andExpect(status().isOk());
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+        return latencies;
+    }
+
+    private static long percentile(long[] sorted, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, index)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,109 @@
+package com.blog.application.integration;
+
+import com.blog.application.dto.RegisterRequest;
+import com.blog.application.entity.User;
+import com.blog.application.repository.UserRepository;
+import com.blog.application.security.AuthenticatedUser;
+import com.blog.application.util.JwtUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:prometheus;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "app.security.bcrypt.strength=4"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+public class PrometheusEndpointIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Test
+    @DisplayName("Hot-path metrics are scrapeable in Prometheus format with an ADMIN token")
+    void testPrometheusScrape() throws Exception {
+        RegisterRequest request = new RegisterRequest();
+        request.setUsername("metrics_user");
+        request.setEmail("metrics@example.com");
+        request.setPassword("password123");
+        String token = objectMapper.readTree(mockMvc.perform(post("/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString()).get("token").asText();
+
+        mockMvc.perform(get("/posts").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus").header("Authorization", "Bearer " + adminToken()))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket")))
+                .andExpect(content().string(containsString("quantile=\"0.99\"")))
+                .andExpect(content().string(containsString("auth_jwt_verify_seconds_count")))
+                .andExpect(content().string(containsString("auth_password_hash_seconds_count{application=\"blog-api\",operation=\"encode\"")))
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds_count")))
+                .andExpect(content().string(containsString("hikaricp_connections_pending")))
+                .andExpect(content().string(containsString("cache_gets_total")));
+    }
+
+    @Test
+    @DisplayName("Scrapes without an ADMIN token are rejected")
+    void testPrometheusScrape_RequiresAdmin() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized());
+
+        RegisterRequest request = new RegisterRequest();
+        request.setUsername("metrics_reader");
+        request.setEmail("metrics_reader@example.com");
+        request.setPassword("password123");
+        String userToken = objectMapper.readTree(mockMvc.perform(post("/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString()).get("token").asText();
+
+        mockMvc.perform(get("/actuator/prometheus").header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+    }
+
+    private String adminToken() {
+        User admin = userRepository.findByUsername("metrics_admin").orElseGet(() -> {
+            User created = new User();
+            created.setUsername("metrics_admin");
+            created.setEmail("metrics_admin@example.com");
+            created.setPassword("not-a-real-hash");
+            created.setRole(User.Role.ADMIN);
+            return userRepository.save(created);
+        });
+        return jwtUtil.generateToken(AuthenticatedUser.fromUser(admin));
+    }
+}
@@ -0,0 +1,143 @@
+package com.blog.application.integration;
+
+import com.blog.application.dto.PostRequest;
+import com.blog.application.entity.User;
+import com.blog.application.repository.UserRepository;
+import com.blog.application.security.AuthenticatedUser;
+import com.blog.application.util.JwtUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Two H2 databases stand in for the primary and a replica. Nothing replicates between them
+ * unless a test calls {@link #replicate()}, which makes replica reads easy to tell apart.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReadReplicaRoutingIntegrationTest.PRIMARY_URL,
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "app.datasource.replicas.enabled=true",
+        "app.datasource.replicas.nodes[0].url=" + ReadReplicaRoutingIntegrationTest.REPLICA_URL,
+        "app.datasource.replicas.nodes[0].username=sa",
+        "app.datasource.replicas.nodes[0].password=",
+        "app.datasource.replicas.sticky-window-ms=60000",
+        "app.posts.feed-cache.window-size=0"
+})
+@AutoConfigureMockMvc
+public class ReadReplicaRoutingIntegrationTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private UserRepository userRepository;
+    @Autowired private JwtUtil jwtUtil;
+
+    @TestConfiguration
+    static class ReplicaSchema {
+
+        // Runs after Hibernate created the schema on the primary, before anything reads at startup
+        @Bean
+        SmartInitializingSingleton copySchemaToReplica() {
+            return () -> copy(false);
+        }
+    }
+
+    @Test
+    @DisplayName("Anonymous reads go to the replica and only see replicated rows")
+    void testReadsUseReplica() throws Exception {
+        long postId = createPost(tokenFor("replicaWriter"), "Replicated later");
+
+        mockMvc.perform(get("/posts/" + postId))
+                .andExpect(status().isNotFound());
+
+        replicate();
+
+        mockMvc.perform(get("/posts/" + postId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Replicated later"));
+    }
+
+    @Test
+    @DisplayName("The writer reads its own write from the primary during the sticky window")
+    void testReadYourWrites() throws Exception {
+        String writerToken = tokenFor("stickyWriter");
+        long postId = createPost(writerToken, "Fresh post");
+
+        mockMvc.perform(get("/posts/" + postId).header("Authorization", "Bearer " + writerToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Fresh post"));
+
+        mockMvc.perform(get("/posts/" + postId).header("Authorization", "Bearer " + tokenFor("otherReader")))
+                .andExpect(status().isNotFound());
+    }
+
+    private long createPost(String token, String title) throws Exception {
+        PostRequest request = new PostRequest();
+        request.setTitle(title);
+        request.setContent("Routing test content");
+        String body = mockMvc.perform(post("/posts")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asLong();
+    }
+
+    // Saved through the primary; the token carries everything the stateless filter needs
+    private String tokenFor(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("not-a-real-hash");
+        user.setRole(User.Role.USER);
+        return jwtUtil.generateToken(AuthenticatedUser.fromUser(userRepository.save(user)));
+    }
+
+    private static void replicate() {
+        copy(true);
+    }
+
+    private static void copy(boolean withData) {
+        try (Connection primary = DriverManager.getConnection(PRIMARY_URL, "sa", "");
+             Connection replica = DriverManager.getConnection(REPLICA_URL, "sa", "");
+             Statement source = primary.createStatement();
+             Statement target = replica.createStatement()) {
+            target.execute("DROP ALL OBJECTS");
+            try (ResultSet script = source.executeQuery(withData ? "SCRIPT" : "SCRIPT NODATA")) {
+                while (script.next()) {
+                    String statement = script.getString(1);
+                    if (!statement.startsWith("--")) {
+                        target.execute(statement);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not copy the primary into the replica", e);
+        }
+    }
+}
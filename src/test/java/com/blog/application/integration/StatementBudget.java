@@ -0,0 +1,42 @@
+package com.blog.application.integration;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Counts the SQL statements Hibernate prepares while a request runs and fails the test when the
+ * request needs more than its budget. A JDBC batch counts once, so batched inserts do not eat
+ * into the budget but a statement per row does.
+ * <p>
+ * Statistics are global to the session factory: measure one request at a time, with nothing
+ * else (scheduled jobs, caches being warmed) touching the database meanwhile.
+ */
+public class StatementBudget {
+
+    private final Statistics statistics;
+
+    public StatementBudget(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.statistics.setStatisticsEnabled(true);
+    }
+
+    /**
+     * Runs {@code request} and asserts it prepared at most {@code budget} statements.
+     *
+     * @return whatever {@code request} returned, for follow-up assertions on the response
+     */
+    public <T> T expect(String endpoint, int budget, Callable<T> request) throws Exception {
+        statistics.clear();
+        T result = request.call();
+        long executed = statistics.getPrepareStatementCount();
+        assertTrue(executed <= budget, () -> endpoint + " ran " + executed + " SQL statements, budget is "
+                + budget + "; queries: " + Arrays.toString(statistics.getQueries()));
+        return result;
+    }
+}
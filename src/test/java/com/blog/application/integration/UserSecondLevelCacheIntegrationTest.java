@@ -0,0 +1,94 @@
+package com.blog.application.integration;
+
+import com.blog.application.entity.User;
+import com.blog.application.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:user-cache;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+public class UserSecondLevelCacheIntegrationTest {
+
+    @Autowired private UserRepository userRepository;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("A repeated lookup by username is served from the cache without SQL")
+    void testNaturalIdLookup_Cached() {
+        saveUser("cachedUser");
+        userRepository.findByNaturalUsername("cachedUser").orElseThrow();
+
+        statistics.clear();
+        User user = userRepository.findByNaturalUsername("cachedUser").orElseThrow();
+
+        assertEquals("cachedUser", user.getUsername());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getDomainDataRegionStatistics(User.NATURAL_ID_CACHE_REGION).getHitCount() > 0);
+        assertTrue(statistics.getDomainDataRegionStatistics(User.CACHE_REGION).getHitCount() > 0);
+    }
+
+    @Test
+    @DisplayName("An update replaces the cached row")
+    void testUpdate_Invalidates() {
+        User saved = saveUser("changingUser");
+        userRepository.findByNaturalUsername("changingUser").orElseThrow();
+
+        saved.setEmail("changed@example.com");
+        userRepository.save(saved);
+
+        assertEquals("changed@example.com",
+                userRepository.findByNaturalUsername("changingUser").orElseThrow().getEmail());
+
+        userRepository.updatePassword(saved.getId(), "new-hash");
+
+        assertEquals("new-hash", userRepository.findByNaturalUsername("changingUser").orElseThrow().getPassword());
+    }
+
+    @Test
+    @DisplayName("Region hits are published as cache metrics")
+    void testMetricsPublished() {
+        saveUser("meteredUser");
+        userRepository.findByNaturalUsername("meteredUser").orElseThrow();
+        userRepository.findByNaturalUsername("meteredUser").orElseThrow();
+
+        assertTrue(meterRegistry.get("cache.gets")
+                .tags("cache", User.NATURAL_ID_CACHE_REGION, "result", "hit")
+                .functionCounter().count() > 0);
+        assertNotNull(meterRegistry.get("cache.gets")
+                .tags("cache", User.CACHE_REGION, "result", "miss")
+                .functionCounter());
+    }
+
+    private User saveUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("not-a-real-hash");
+        user.setRole(User.Role.USER);
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,145 @@
+package com.blog.application.integration;
+
+import com.blog.application.BlogApplication;
+import com.blog.application.entity.Post;
+import com.blog.application.entity.User;
+import com.blog.application.repository.PostRepository;
+import com.blog.application.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Throughput and p99 latency of GET /posts with 2,000 concurrent clients, once on Tomcat's
+ * platform thread pool and once in virtual-thread mode. Each client sends its next request as
+ * soon as the previous one completes. The virtual-thread run is skipped below Java 21.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+public class VirtualThreadThroughputBenchmarkTest {
+
+    private static final int CLIENTS = 2_000;
+    private static final Duration WARM_UP = Duration.ofSeconds(5);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(20);
+
+    @Test
+    @DisplayName("Platform thread pool vs virtual threads under 2,000 concurrent clients")
+    void compareExecutionModes() throws Exception {
+        assumeTrue(Runtime.version().feature() >= 21, "virtual threads need Java 21");
+
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        System.out.printf("platform threads: %.0f req/s, p99 %.1f ms, errors %d%n",
+                platform.throughput(), platform.p99Millis(), platform.errors());
+        System.out.printf("virtual threads:  %.0f req/s, p99 %.1f ms, errors %d%n",
+                virtual.throughput(), virtual.p99Millis(), virtual.errors());
+
+        assertEquals(0, virtual.errors());
+        assertTrue(virtual.throughput() > 0);
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BlogApplication.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:vt" + virtualThreads + ";DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--logging.level.com.blog.application=INFO",
+                        "--logging.level.org.springframework.security=INFO",
+                        "--server.tomcat.max-connections=" + (CLIENTS * 2),
+                        "--app.threads.virtual.enabled=" + virtualThreads)) {
+            seed(context);
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            URI uri = URI.create("http://localhost:" + port + "/api/posts?size=10");
+
+            drive(uri, WARM_UP);
+            return drive(uri, MEASUREMENT);
+        }
+    }
+
+    private void seed(ConfigurableApplicationContext context) {
+        User author = new User();
+        author.setUsername("bench");
+        author.setEmail("bench@example.com");
+        author.setPassword("unused");
+        author.setRole(User.Role.USER);
+        author = context.getBean(UserRepository.class).save(author);
+
+        List<Post> posts = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Post post = new Post();
+            post.setTitle("Post " + i);
+            post.setContent("Benchmark content " + i);
+            post.setAuthor(author);
+            posts.add(post);
+        }
+        context.getBean(PostRepository.class).saveAll(posts);
+    }
+
+    private Result drive(URI uri, Duration duration) {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET().build();
+
+        long deadline = System.nanoTime() + duration.toNanos();
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        AtomicInteger errors = new AtomicInteger();
+        List<CompletableFuture<Void>> clients = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int i = 0; i < CLIENTS; i++) {
+            clients.add(loop(client, request, deadline, latencies, errors));
+        }
+        CompletableFuture.allOf(clients.toArray(new CompletableFuture[0])).join();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        long p99 = sorted.length == 0 ? 0 : sorted[(int) Math.ceil(sorted.length * 0.99) - 1];
+        return new Result(sorted.length / seconds, p99 / 1e6, errors.get());
+    }
+
+    private CompletableFuture<Void> loop(HttpClient client, HttpRequest request, long deadline,
+                                         ConcurrentLinkedQueue<Long> latencies, AtomicInteger errors) {
+        if (System.nanoTime() >= deadline) {
+            return CompletableFuture.completedFuture(null);
+        }
+        long sent = System.nanoTime();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((response, failure) -> {
+                    if (failure != null || response.statusCode() != 200) {
+                        errors.incrementAndGet();
+                    } else {
+                        latencies.add(System.nanoTime() - sent);
+                    }
+                    return null;
+                })
+                .thenCompose(ignored -> loop(client, request, deadline, latencies, errors));
+    }
+
+    private record Result(double throughput, double p99Millis, int errors) {
+    }
+}
@@ -0,0 +1,136 @@
+package com.blog.application.search;
+
+import com.blog.application.entity.Post;
+import com.blog.application.repository.PostRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares search latency of the in-memory index against the LIKE-based JPQL query.
+ * <p>
+ * Excluded from the default build; run with
+ * {@code mvn -Pbenchmark test -Dtest=PostSearchBenchmarkTest [-Dbenchmark.search.sizes=10000,100000,300000]}.
+ * Larger sizes need more heap than the profile's 4g, e.g. {@code -DargLine=-Xmx8g}.
+ */
+@Tag("benchmark")
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class PostSearchBenchmarkTest {
+
+    private static final int VOCABULARY_SIZE = 20_000;
+    private static final int WORDS_PER_POST = 40;
+    private static final int QUERIES = 50;
+    private static final int INSERT_BATCH = 5_000;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void compareSearchLatency() {
+        String[] vocabulary = buildVocabulary();
+        long[] sizes = Arrays.stream(System.getProperty("benchmark.search.sizes", "10000,100000,300000").split(","))
+                .mapToLong(Long::parseLong)
+                .toArray();
+
+        System.out.printf("%-10s %16s %16s%n", "posts", "jpql avg (ms)", "index avg (ms)");
+        for (long size : sizes) {
+            PostSearchIndex index = new PostSearchIndex();
+            seed(size, vocabulary, index);
+            index.markReady();
+
+            List<String> queries = new ArrayList<>();
+            Random random = new Random(7);
+            for (int i = 0; i < QUERIES; i++) {
+                queries.add(vocabulary[zipf(random)]);
+            }
+
+            double jpql = averageMillis(queries, keyword ->
+                    postRepository.findByTitleContainingIgnoreCaseOrContentContainingIgnoreCase(
+                            keyword, PageRequest.of(0, 10)).getContent().size());
+            double indexed = averageMillis(queries, keyword -> {
+                SearchHits hits = index.search(keyword, 0, 10);
+                List<Post> posts = postRepository.findAllById(hits.getPostIds());
+                return posts.size();
+            });
+
+            System.out.printf("%-10d %16.3f %16.3f%n", size, jpql, indexed);
+            jdbcTemplate.update("DELETE FROM posts");
+        }
+    }
+
+    private void seed(long size, String[] vocabulary, PostSearchIndex index) {
+        jdbcTemplate.update("DELETE FROM posts");
+        jdbcTemplate.update("DELETE FROM users");
+        jdbcTemplate.update("INSERT INTO users (id, username, email, password, role, created_at) " +
+                "VALUES (1, 'bench', 'bench@example.com', 'x', 'USER', CURRENT_TIMESTAMP)");
+
+        Random random = new Random(42);
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH);
+        for (long id = 1; id <= size; id++) {
+            String title = sentence(random, vocabulary, 6);
+            String content = sentence(random, vocabulary, WORDS_PER_POST);
+            batch.add(new Object[]{id, title, content, now, now});
+            index.index(id, title, content);
+
+            if (batch.size() == INSERT_BATCH || id == size) {
+                jdbcTemplate.batchUpdate("INSERT INTO posts (id, title, content, author_id, created_at, updated_at, comment_count) " +
+                        "VALUES (?, ?, ?, 1, ?, ?, 0)", batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private double averageMillis(List<String> queries, java.util.function.ToIntFunction<String> search) {
+        // Warm-up pass so the first measured query is not paying for class loading / plan caching
+        queries.stream().limit(5).forEach(search::applyAsInt);
+
+        long started = System.nanoTime();
+        for (String query : queries) {
+            search.applyAsInt(query);
+        }
+        return (System.nanoTime() - started) / 1_000_000.0 / queries.size();
+    }
+
+    private static String[] buildVocabulary() {
+        Random random = new Random(1);
+        String[] words = new String[VOCABULARY_SIZE];
+        for (int i = 0; i < words.length; i++) {
+            StringBuilder word = new StringBuilder();
+            int length = 4 + random.nextInt(6);
+            for (int j = 0; j < length; j++) {
+                word.append((char) ('a' + random.nextInt(26)));
+            }
+            words[i] = word.toString();
+        }
+        return words;
+    }
+
+    private static String sentence(Random random, String[] vocabulary, int words) {
+        StringBuilder sentence = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            sentence.append(vocabulary[zipf(random)]).append(' ');
+        }
+        return sentence.toString();
+    }
+
+    // Skewed word choice so a few terms are very common, like in real text
+    private static int zipf(Random random) {
+        return (int) Math.min(VOCABULARY_SIZE - 1, Math.floor(Math.pow(VOCABULARY_SIZE, random.nextDouble())) - 1);
+    }
+}
@@ -0,0 +1,67 @@
+package com.blog.application.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PostSearchIndexTest {
+
+    private PostSearchIndex index;
+
+    @BeforeEach
+    void setup() {
+        index = new PostSearchIndex();
+        index.index(1L, "Cooking pasta", "Boil water and add salt before the spaghetti goes in.");
+        index.index(2L, "Travel notes", "We ate pasta every night in Rome.");
+        index.index(3L, "Garden update", "Tomatoes are finally ripe.");
+    }
+
+    @Test
+    @DisplayName("Title matches outrank content matches")
+    void testSearch_TitleBoost() {
+        SearchHits hits = index.search("pasta", 0, 10);
+
+        assertEquals(List.of(1L, 2L), hits.getPostIds());
+        assertEquals(2, hits.getTotalHits());
+    }
+
+    @Test
+    @DisplayName("Every query term must match")
+    void testSearch_AllTermsRequired() {
+        assertEquals(List.of(2L), index.search("pasta rome", 0, 10).getPostIds());
+        assertEquals(0, index.search("pasta tomatoes", 0, 10).getTotalHits());
+    }
+
+    @Test
+    @DisplayName("Query and documents are case and accent insensitive")
+    void testSearch_Normalization() {
+        index.index(4L, "Crème brûlée", "Dessert");
+
+        assertEquals(List.of(4L), index.search("CREME Brulee", 0, 10).getPostIds());
+        assertEquals(List.of(3L), index.search("TOMATOES!", 0, 10).getPostIds());
+    }
+
+    @Test
+    @DisplayName("Re-indexing replaces and removing drops a post")
+    void testIndexUpdateAndRemove() {
+        index.index(3L, "Garden update", "Basil instead of tomatoes this year.");
+        assertEquals(List.of(3L), index.search("basil", 0, 10).getPostIds());
+
+        index.remove(3L);
+        assertEquals(0, index.search("basil", 0, 10).getTotalHits());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    @DisplayName("Results are paged after ranking")
+    void testSearch_Paging() {
+        SearchHits secondPage = index.search("pasta", 1, 1);
+
+        assertEquals(List.of(2L), secondPage.getPostIds());
+        assertEquals(2, secondPage.getTotalHits());
+    }
+}
@@ -0,0 +1,43 @@
+package com.blog.application.security;
+
+import com.blog.application.entity.User;
+import com.blog.application.util.JwtUtil;
+import com.blog.application.util.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AuthenticatedUserTest {
+
+    @Test
+    @DisplayName("Principal is built from the uid and role claims")
+    void testFromToken_WithClaims() {
+        Claims claims = Jwts.claims().setSubject("john");
+        claims.put(JwtUtil.USER_ID_CLAIM, 7);
+        claims.put(JwtUtil.ROLE_CLAIM, "ADMIN");
+        claims.setExpiration(new Date(System.currentTimeMillis() + 60_000));
+
+        AuthenticatedUser user = AuthenticatedUser.fromToken(new VerifiedToken(claims));
+
+        assertNotNull(user);
+        assertEquals(7L, user.getId());
+        assertEquals("john", user.getUsername());
+        assertEquals(User.Role.ADMIN, user.getRole());
+        assertNull(user.getPassword());
+        assertEquals("ROLE_ADMIN", user.getAuthorities().iterator().next().getAuthority());
+    }
+
+    @Test
+    @DisplayName("Tokens without the principal claims need a user lookup")
+    void testFromToken_LegacyToken() {
+        Claims claims = Jwts.claims().setSubject("john");
+        claims.setExpiration(new Date(System.currentTimeMillis() + 60_000));
+
+        assertNull(AuthenticatedUser.fromToken(new VerifiedToken(claims)));
+    }
+}
@@ -0,0 +1,48 @@
+package com.blog.application.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BulkPasswordHasherTest {
+
+    private BulkPasswordHasher hasher;
+
+    @AfterEach
+    void tearDown() {
+        if (hasher != null) {
+            hasher.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Hashes come back in input order and verify against their passwords")
+    void testEncodeAll_KeepsOrder() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        hasher = new BulkPasswordHasher(4, 3, meterRegistry);
+        List<String> passwords = List.of("first", "second", "third", "fourth", "fifth");
+
+        List<String> hashes = hasher.encodeAll(passwords);
+
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(4);
+        assertEquals(passwords.size(), hashes.size());
+        for (int i = 0; i < passwords.size(); i++) {
+            assertTrue(encoder.matches(passwords.get(i), hashes.get(i)));
+        }
+        assertEquals(5, meterRegistry.get("auth.password.hash").tag("operation", "import").timer().count());
+    }
+
+    @Test
+    @DisplayName("An empty batch needs no hashing")
+    void testEncodeAll_Empty() {
+        hasher = new BulkPasswordHasher(4, 1, new SimpleMeterRegistry());
+
+        assertTrue(hasher.encodeAll(List.of()).isEmpty());
+    }
+}
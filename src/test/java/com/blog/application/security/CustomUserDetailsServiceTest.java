@@ -0,0 +1,137 @@
+package com.blog.application.security;
+
+import com.blog.application.entity.User;
+import com.blog.application.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class CustomUserDetailsServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CustomUserDetailsService service;
+    private User user;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        service = new CustomUserDetailsService(userRepository, 100, 60_000, meterRegistry);
+
+        user = new User();
+        user.setId(1L);
+        user.setUsername("john");
+        user.setPassword("hash");
+        user.setRole(User.Role.USER);
+    }
+
+    @Test
+    @DisplayName("Repeated lookups are served from the cache")
+    void testLoadUserByUsername_Cached() {
+        when(userRepository.findByNaturalUsername("john")).thenReturn(Optional.of(user));
+
+        UserDetails first = service.loadUserByUsername("john");
+        UserDetails second = service.loadUserByUsername("john");
+
+        assertSame(first, second);
+        assertEquals("hash", first.getPassword());
+        verify(userRepository, times(1)).findByNaturalUsername("john");
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "userDetails")
+                .tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Evicted entry is reloaded with the current row")
+    void testEvict_ReloadsChangedUser() {
+        when(userRepository.findByNaturalUsername("john")).thenReturn(Optional.of(user));
+        service.loadUserByUsername("john");
+
+        User changed = new User();
+        changed.setId(1L);
+        changed.setUsername("john");
+        changed.setPassword("new-hash");
+        changed.setRole(User.Role.ADMIN);
+        when(userRepository.findByNaturalUsername("john")).thenReturn(Optional.of(changed));
+        service.evict("john");
+
+        UserDetails reloaded = service.loadUserByUsername("john");
+
+        assertEquals("new-hash", reloaded.getPassword());
+        assertEquals("ROLE_ADMIN", reloaded.getAuthorities().iterator().next().getAuthority());
+    }
+
+    @Test
+    @DisplayName("Upgraded hash is stored and replaces the cached entry")
+    void testUpdatePassword_StoresUpgradedHash() {
+        when(userRepository.findByNaturalUsername("john")).thenReturn(Optional.of(user));
+        UserDetails loaded = service.loadUserByUsername("john");
+
+        UserDetails upgraded = service.updatePassword(loaded, "stronger-hash");
+
+        verify(userRepository).updatePassword(1L, "stronger-hash");
+        assertEquals("stronger-hash", upgraded.getPassword());
+        assertSame(upgraded, service.loadUserByUsername("john"));
+        verify(userRepository, times(1)).findByNaturalUsername("john");
+    }
+
+    @Test
+    @DisplayName("Unknown usernames are not cached")
+    void testLoadUserByUsername_NotFound() {
+        when(userRepository.findByNaturalUsername("ghost")).thenReturn(Optional.empty());
+
+        assertThrows(UsernameNotFoundException.class, () -> service.loadUserByUsername("ghost"));
+        assertThrows(UsernameNotFoundException.class, () -> service.loadUserByUsername("ghost"));
+
+        verify(userRepository, times(2)).findByNaturalUsername("ghost");
+    }
+
+    @Test
+    @DisplayName("Concurrent misses for one user share a single query")
+    void testLoadUserByUsername_CoalescesMisses() throws Exception {
+        CountDownLatch queryStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(userRepository.findByNaturalUsername("john")).thenAnswer(invocation -> {
+            queryStarted.countDown();
+            release.await();
+            return Optional.of(user);
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<UserDetails>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> service.loadUserByUsername("john")));
+            }
+            queryStarted.await();
+            release.countDown();
+
+            UserDetails expected = results.get(0).get();
+            for (Future<UserDetails> result : results) {
+                assertSame(expected, result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(userRepository, times(1)).findByNaturalUsername("john");
+    }
+}
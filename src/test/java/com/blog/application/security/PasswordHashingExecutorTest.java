@@ -0,0 +1,92 @@
+package com.blog.application.security;
+
+import com.blog.application.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PasswordHashingExecutorTest {
+
+    private PasswordHashingExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        if (executor != null) {
+            executor.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Task runs on the hashing pool and returns its result")
+    void testExecute_ReturnsResult() {
+        executor = new PasswordHashingExecutor(1, 1, 5_000, new SimpleMeterRegistry());
+
+        String threadName = executor.execute(() -> Thread.currentThread().getName());
+
+        assertTrue(threadName.startsWith("password-hash-"));
+    }
+
+    @Test
+    @DisplayName("Saturated pool rejects immediately with 503")
+    void testExecute_RejectsWhenSaturated() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        executor = new PasswordHashingExecutor(1, 1, 5_000, meterRegistry);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // One task occupies the thread, one fills the queue
+        CompletableFuture<Void> busy = CompletableFuture.runAsync(() -> executor.execute(() -> {
+            running.countDown();
+            await(release);
+            return null;
+        }));
+        running.await();
+        CompletableFuture<Void> queued = CompletableFuture.runAsync(() -> executor.execute(() -> null));
+        while (meterRegistry.get("executor.queued").tag("name", "passwordHashing").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        assertThrows(ServiceUnavailableException.class, () -> executor.execute(() -> "rejected"));
+        assertEquals(1.0, meterRegistry.get("auth.password.rejections").counter().count());
+
+        release.countDown();
+        busy.get();
+        queued.get();
+    }
+
+    @Test
+    @DisplayName("Result not ready within the wait limit is rejected with 503")
+    void testExecute_TimesOut() {
+        executor = new PasswordHashingExecutor(1, 1, 50, new SimpleMeterRegistry());
+        CountDownLatch never = new CountDownLatch(1);
+
+        assertThrows(ServiceUnavailableException.class, () -> executor.execute(() -> {
+            await(never);
+            return null;
+        }));
+    }
+
+    @Test
+    @DisplayName("Runtime exceptions from the task propagate unchanged")
+    void testExecute_PropagatesException() {
+        executor = new PasswordHashingExecutor(1, 1, 5_000, new SimpleMeterRegistry());
+
+        assertThrows(IllegalArgumentException.class, () -> executor.execute(() -> {
+            throw new IllegalArgumentException("bad hash");
+        }));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
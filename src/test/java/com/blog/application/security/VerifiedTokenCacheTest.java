@@ -0,0 +1,77 @@
+package com.blog.application.security;
+
+import com.blog.application.util.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VerifiedTokenCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private VerifiedTokenCache cache;
+    private AtomicInteger verifications;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new VerifiedTokenCache(100, 3_600_000, meterRegistry);
+        verifications = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Valid token is verified once and then served from the cache")
+    void testGet_CachesVerifiedClaims() {
+        Function<String, VerifiedToken> verifier = countingVerifier(new Date(System.currentTimeMillis() + 60_000));
+
+        VerifiedToken first = cache.get("token-a", verifier);
+        VerifiedToken second = cache.get("token-a", verifier);
+
+        assertSame(first, second);
+        assertEquals(1, verifications.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "jwtVerifiedTokens")
+                .tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Failed verification is not cached")
+    void testGet_DoesNotCacheFailures() {
+        Function<String, VerifiedToken> failing = token -> {
+            verifications.incrementAndGet();
+            throw new IllegalArgumentException("bad signature");
+        };
+
+        assertThrows(IllegalArgumentException.class, () -> cache.get("token-b", failing));
+        assertThrows(IllegalArgumentException.class, () -> cache.get("token-b", failing));
+        assertEquals(2, verifications.get());
+    }
+
+    @Test
+    @DisplayName("Entry expires together with the token")
+    void testGet_ExpiresWithToken() {
+        Function<String, VerifiedToken> verifier = countingVerifier(new Date(System.currentTimeMillis() - 1_000));
+
+        cache.get("token-c", verifier);
+        cache.get("token-c", verifier);
+
+        assertEquals(2, verifications.get());
+    }
+
+    private Function<String, VerifiedToken> countingVerifier(Date expiration) {
+        return token -> {
+            verifications.incrementAndGet();
+            Claims claims = Jwts.claims();
+            claims.setSubject("john");
+            claims.setExpiration(expiration);
+            return new VerifiedToken(claims);
+        };
+    }
+}
@@ -0,0 +1,90 @@
+package com.blog.application.service;
+
+import com.blog.application.repository.CommentRepository;
+import com.blog.application.repository.PostCommentCount;
+import com.blog.application.repository.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class CommentCountReconcilerTest {
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private PostResponseCache postResponseCache;
+
+    @InjectMocks
+    private CommentCountReconciler reconciler;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(reconciler, "batchSize", 2);
+    }
+
+    @Test
+    @DisplayName("Reconcile - repairs only drifted posts, batch by batch")
+    void testReconcile_RepairsDrift() {
+        when(postRepository.findStoredCommentCounts(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(count(1L, 2L), count(2L, 0L)));
+        when(postRepository.findStoredCommentCounts(eq(2L), any(Pageable.class)))
+                .thenReturn(List.of(count(3L, 5L)));
+        when(commentRepository.countByPostIds(List.of(1L, 2L)))
+                .thenReturn(List.of(count(1L, 2L), count(2L, 1L)));
+        when(commentRepository.countByPostIds(List.of(3L)))
+                .thenReturn(List.of());
+        when(postRepository.recalculateCommentCounts(anyCollection(), any())).thenAnswer(inv -> inv.<Collection<?>>getArgument(0).size());
+
+        int repaired = reconciler.reconcile();
+
+        assertEquals(2, repaired);
+        verify(postRepository).recalculateCommentCounts(eq(List.of(2L)), any(LocalDateTime.class));
+        verify(postRepository).recalculateCommentCounts(eq(List.of(3L)), any(LocalDateTime.class));
+        verify(postResponseCache).invalidateAll(List.of(2L));
+        verify(postResponseCache).invalidateAll(List.of(3L));
+    }
+
+    @Test
+    @DisplayName("Reconcile - nothing to repair")
+    void testReconcile_NoDrift() {
+        when(postRepository.findStoredCommentCounts(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(count(1L, 1L)));
+        when(commentRepository.countByPostIds(List.of(1L)))
+                .thenReturn(List.of(count(1L, 1L)));
+
+        assertEquals(0, reconciler.reconcile());
+        verify(postRepository, never()).recalculateCommentCounts(anyCollection(), any());
+    }
+
+    private PostCommentCount count(Long postId, long commentCount) {
+        return new PostCommentCount() {
+            @Override
+            public Long getPostId() {
+                return postId;
+            }
+
+            @Override
+            public long getCommentCount() {
+                return commentCount;
+            }
+        };
+    }
+}
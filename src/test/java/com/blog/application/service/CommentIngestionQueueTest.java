@@ -0,0 +1,180 @@
+package com.blog.application.service;
+
+import com.blog.application.dto.CommentAcceptedResponse;
+import com.blog.application.dto.CommentRequest;
+import com.blog.application.entity.Comment;
+import com.blog.application.entity.User;
+import com.blog.application.exception.ResourceNotFoundException;
+import com.blog.application.exception.ServiceUnavailableException;
+import com.blog.application.repository.CommentRepository;
+import com.blog.application.repository.PostRepository;
+import com.blog.application.repository.UserRepository;
+import com.blog.application.security.AuthenticatedUser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class CommentIngestionQueueTest {
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private PostResponseCache postResponseCache;
+
+    @Mock
+    private HotFeedCache hotFeedCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CommentIngestionQueue ingestionQueue;
+    private AuthenticatedUser principal;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        ingestionQueue = createQueue(100);
+
+        User author = new User();
+        author.setId(1L);
+        author.setUsername("john");
+        principal = new AuthenticatedUser(1L, "john", null, User.Role.USER);
+        when(userService.getAuthorReference(principal)).thenReturn(author);
+        when(postRepository.existsById(anyLong())).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ingestionQueue.stop();
+    }
+
+    @Test
+    @DisplayName("Accept - queues the comment and returns an ingestion id")
+    void testAccept() {
+        ReflectionTestUtils.setField(ingestionQueue, "running", true);
+
+        CommentAcceptedResponse accepted = ingestionQueue.accept(new CommentRequest("Hello", 10L), principal);
+
+        assertNotNull(accepted.getIngestionId());
+        assertEquals(10L, accepted.getPostId());
+        assertEquals(1, ingestionQueue.getQueuedCount());
+        verify(commentRepository, never()).saveAll(anyList());
+        verify(postRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    @DisplayName("Accept - unknown post is rejected up front")
+    void testAccept_PostNotFound() {
+        ReflectionTestUtils.setField(ingestionQueue, "running", true);
+        when(postRepository.existsById(11L)).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> ingestionQueue.accept(new CommentRequest("Hello", 11L), principal));
+        assertEquals(0, ingestionQueue.getQueuedCount());
+    }
+
+    @Test
+    @DisplayName("Accept - full queue answers 503")
+    void testAccept_QueueFull() {
+        ingestionQueue = createQueue(1);
+        ReflectionTestUtils.setField(ingestionQueue, "running", true);
+        ingestionQueue.accept(new CommentRequest("First", 10L), principal);
+
+        assertThrows(ServiceUnavailableException.class,
+                () -> ingestionQueue.accept(new CommentRequest("Second", 10L), principal));
+        assertEquals(1.0, meterRegistry.get("comments.ingestion").tag("outcome", "rejected").counter().count());
+    }
+
+    @Test
+    @DisplayName("Accept - rejected once the writer has stopped")
+    void testAccept_NotRunning() {
+        assertThrows(ServiceUnavailableException.class,
+                () -> ingestionQueue.accept(new CommentRequest("Hello", 10L), principal));
+    }
+
+    @Test
+    @DisplayName("Write - one saveAll and one counter update per post")
+    void testWrite_CoalescesPerPost() {
+        ingestionQueue.write(List.of(pending(10L), pending(10L), pending(11L)));
+
+        verify(commentRepository).saveAll(argThat(comments -> ((List<?>) comments).size() == 3));
+        verify(postRepository).adjustCommentCount(eq(10L), eq(2L), any(LocalDateTime.class));
+        verify(postRepository).adjustCommentCount(eq(11L), eq(1L), any(LocalDateTime.class));
+        verify(postResponseCache).invalidate(10L);
+        verify(hotFeedCache).commentCountChanged(eq(11L), eq(1), any(LocalDateTime.class));
+        verify(postRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    @DisplayName("Write - failed batch is retried one comment at a time")
+    void testWrite_FallsBackToSingleInserts() {
+        when(commentRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Comment> comments = invocation.getArgument(0);
+            if (comments.size() > 1 || comments.get(0).getContent().equals("post 11")) {
+                throw new IllegalStateException("foreign key violation");
+            }
+            return comments;
+        });
+
+        ingestionQueue.write(List.of(pending(10L), pending(11L)));
+
+        verify(commentRepository, times(3)).saveAll(anyList());
+        assertEquals(1.0, meterRegistry.get("comments.ingestion").tag("outcome", "written").counter().count());
+        assertEquals(1.0, meterRegistry.get("comments.ingestion").tag("outcome", "dropped").counter().count());
+    }
+
+    @Test
+    @DisplayName("Stop - drains everything still queued")
+    @SuppressWarnings("unchecked")
+    void testStop_DrainsQueue() {
+        ReflectionTestUtils.setField(ingestionQueue, "running", true);
+        for (int i = 0; i < 5; i++) {
+            ingestionQueue.accept(new CommentRequest("Comment " + i, 10L), principal);
+        }
+
+        ingestionQueue.start();
+        ingestionQueue.stop();
+
+        ArgumentCaptor<List<Comment>> batches = ArgumentCaptor.forClass(List.class);
+        verify(commentRepository, atLeastOnce()).saveAll(batches.capture());
+        assertEquals(5, batches.getAllValues().stream().mapToInt(List::size).sum());
+        assertEquals(0, ingestionQueue.getQueuedCount());
+        assertFalse(ingestionQueue.isRunning());
+    }
+
+    private CommentIngestionQueue createQueue(int capacity) {
+        return new CommentIngestionQueue(commentRepository, postRepository, userRepository, userService,
+                postResponseCache, hotFeedCache, transactionManager, capacity, 50, 20, 5_000, meterRegistry);
+    }
+
+    private static CommentIngestionQueue.PendingComment pending(Long postId) {
+        return new CommentIngestionQueue.PendingComment("id-" + postId, postId, 1L, "post " + postId,
+                LocalDateTime.now());
+    }
+}
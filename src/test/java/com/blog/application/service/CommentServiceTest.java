@@ -2,17 +2,23 @@ package com.blog.application.service;
 
 import com.blog.application.dto.CommentRequest;
 import com.blog.application.dto.CommentResponse;
+import com.blog.application.dto.CursorPage;
 import com.blog.application.entity.Comment;
 import com.blog.application.entity.Post;
 import com.blog.application.entity.User;
+import com.blog.application.exception.BadRequestException;
 import com.blog.application.exception.ResourceNotFoundException;
 import com.blog.application.exception.UnauthorizedException;
 import com.blog.application.repository.CommentRepository;
 import com.blog.application.repository.PostRepository;
+import com.blog.application.security.AuthenticatedUser;
+import com.blog.application.util.KeysetCursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -31,20 +37,30 @@ public class CommentServiceTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private PostResponseCache postResponseCache;
+
+    @Mock
+    private HotFeedCache hotFeedCache;
+
     @InjectMocks
     private CommentService commentService;
 
     private User mockUser;
+    private AuthenticatedUser principal;
     private Post mockPost;
     private Comment mockComment;
 
     @BeforeEach
     void setup() {
         MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(commentService, "defaultPageSize", 20);
+        ReflectionTestUtils.setField(commentService, "maxPageSize", 100);
 
         mockUser = new User();
         mockUser.setId(1L);
         mockUser.setUsername("john");
+        principal = new AuthenticatedUser(1L, "john", null, User.Role.USER);
 
         mockPost = new Post();
         mockPost.setId(10L);
@@ -66,21 +82,75 @@ public class CommentServiceTest {
         request.setContent("Nice article!");
         request.setPostId(10L);
 
-        when(userService.findByUsername("john")).thenReturn(mockUser);
-        when(postRepository.findById(10L)).thenReturn(Optional.of(mockPost));
+        when(userService.getAuthorReference(principal)).thenReturn(mockUser);
+        when(postRepository.existsById(10L)).thenReturn(true);
+        when(postRepository.getReferenceById(10L)).thenReturn(mockPost);
         when(commentRepository.save(any(Comment.class))).thenReturn(mockComment);
 
-        CommentResponse response = commentService.createComment(request, "john");
+        CommentResponse response = commentService.createComment(request, principal);
 
         assertEquals("Nice article!", response.getContent());
         assertEquals("john", response.getAuthorUsername());
+        ArgumentCaptor<LocalDateTime> changedAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(postRepository).adjustCommentCount(eq(10L), eq(1L), changedAt.capture());
+        verify(postResponseCache).invalidate(10L);
+        // The cache compares this time with the stored one, so both must get the same value
+        verify(hotFeedCache).commentCountChanged(10L, 1, changedAt.getValue());
+        verify(userService, never()).findByUsername(anyString());
+        verify(postRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    @DisplayName("Create comment - post not found")
+    void testCreateComment_PostNotFound() {
+        when(userService.getAuthorReference(principal)).thenReturn(mockUser);
+        when(postRepository.existsById(10L)).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> commentService.createComment(new CommentRequest("Nice article!", 10L), principal));
+        verify(commentRepository, never()).save(any(Comment.class));
+    }
+
+    @Test
+    @DisplayName("Create comments in bulk - one count adjustment per post")
+    void testCreateComments() {
+        CommentRequest first = new CommentRequest("First!", 10L);
+        CommentRequest second = new CommentRequest("Second!", 10L);
+
+        when(userService.getAuthorReference(principal)).thenReturn(mockUser);
+        when(postRepository.findAllById(Set.of(10L))).thenReturn(List.of(mockPost));
+        when(commentRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<CommentResponse> responses = commentService.createComments(List.of(first, second), principal);
+
+        assertEquals(2, responses.size());
+        assertEquals("Second!", responses.get(1).getContent());
+        verify(postRepository).adjustCommentCount(eq(10L), eq(2L), any(LocalDateTime.class));
+        verify(postResponseCache).invalidate(10L);
+        verify(hotFeedCache).commentCountChanged(eq(10L), eq(2), any(LocalDateTime.class));
+        verify(commentRepository, never()).save(any(Comment.class));
+    }
+
+    @Test
+    @DisplayName("Create comments in bulk - unknown post rejects the whole batch")
+    void testCreateComments_PostNotFound() {
+        CommentRequest known = new CommentRequest("Fine", 10L);
+        CommentRequest unknown = new CommentRequest("Orphan", 11L);
+
+        when(userService.getAuthorReference(principal)).thenReturn(mockUser);
+        when(postRepository.findAllById(Set.of(10L, 11L))).thenReturn(List.of(mockPost));
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> commentService.createComments(List.of(known, unknown), principal));
+        verify(commentRepository, never()).saveAll(anyList());
+        verify(postRepository, never()).adjustCommentCount(anyLong(), anyLong(), any());
     }
 
     @Test
     @DisplayName("Get comments by postId - success")
     void testGetCommentsByPostId() {
         when(postRepository.existsById(10L)).thenReturn(true);
-        when(commentRepository.findByPostIdOrderByCreatedAtDesc(10L)).thenReturn(List.of(mockComment));
+        when(commentRepository.findPageByPostId(10L, PageRequest.of(0, 101))).thenReturn(List.of(mockComment));
 
         List<CommentResponse> result = commentService.getCommentsByPostId(10L);
 
@@ -88,6 +158,50 @@ public class CommentServiceTest {
         assertEquals("Nice article!", result.get(0).getContent());
     }
 
+    @Test
+    @DisplayName("Get comment page - first page with next cursor")
+    void testGetCommentPage_FirstPage() {
+        Comment older = new Comment();
+        older.setId(99L);
+        older.setPost(mockPost);
+        older.setAuthor(mockUser);
+        older.setContent("Older comment");
+        older.setCreatedAt(mockComment.getCreatedAt().minusMinutes(1));
+
+        when(postRepository.existsById(10L)).thenReturn(true);
+        when(commentRepository.findPageByPostId(10L, PageRequest.of(0, 2))).thenReturn(List.of(mockComment, older));
+
+        CursorPage<CommentResponse> page = commentService.getCommentPage(10L, "", 1);
+
+        assertEquals(1, page.getContent().size());
+        assertTrue(page.isHasNext());
+        assertEquals(100L, KeysetCursor.decode(page.getNextCursor()).getId());
+    }
+
+    @Test
+    @DisplayName("Get comment page - seeks after the cursor")
+    void testGetCommentPage_AfterCursor() {
+        LocalDateTime createdAt = LocalDateTime.now();
+        String cursor = new KeysetCursor(createdAt, 150L).encode();
+
+        when(postRepository.existsById(10L)).thenReturn(true);
+        when(commentRepository.findPageByPostIdAfter(10L, createdAt, 150L, PageRequest.of(0, 21)))
+                .thenReturn(List.of(mockComment));
+
+        CursorPage<CommentResponse> page = commentService.getCommentPage(10L, cursor, null);
+
+        assertEquals(1, page.getContent().size());
+        assertEquals(20, page.getSize());
+        assertFalse(page.isHasNext());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Get comment page - page size above the maximum")
+    void testGetCommentPage_SizeTooLarge() {
+        assertThrows(BadRequestException.class, () -> commentService.getCommentPage(10L, "", 101));
+    }
+
     @Test
     @DisplayName("Get comments by postId - post not found")
     void testGetCommentsByPostId_NotFound() {
@@ -98,7 +212,7 @@ public class CommentServiceTest {
     @Test
     @DisplayName("Get comment by ID - success")
     void testGetCommentById() {
-        when(commentRepository.findById(100L)).thenReturn(Optional.of(mockComment));
+        when(commentRepository.findWithAuthorById(100L)).thenReturn(Optional.of(mockComment));
 
         CommentResponse response = commentService.getCommentById(100L);
 
@@ -108,7 +222,7 @@ public class CommentServiceTest {
     @Test
     @DisplayName("Get comment by ID - not found")
     void testGetCommentById_NotFound() {
-        when(commentRepository.findById(100L)).thenReturn(Optional.empty());
+        when(commentRepository.findWithAuthorById(100L)).thenReturn(Optional.empty());
         assertThrows(ResourceNotFoundException.class, () -> commentService.getCommentById(100L));
     }
 
@@ -119,44 +233,48 @@ public class CommentServiceTest {
         request.setContent("Updated comment");
         request.setPostId(10L);
 
-        when(commentRepository.findById(100L)).thenReturn(Optional.of(mockComment));
+        when(commentRepository.findWithAuthorById(100L)).thenReturn(Optional.of(mockComment));
         when(commentRepository.save(any(Comment.class))).thenReturn(mockComment);
 
-        CommentResponse response = commentService.updateComment(100L, request, "john");
+        CommentResponse response = commentService.updateComment(100L, request, principal);
 
-        assertEquals("Nice article!", response.getContent()); // mock still returns old content
+        assertEquals("Updated comment", response.getContent()); // save returns the same, now edited, entity
         assertEquals("john", response.getAuthorUsername());
     }
 
     @Test
     @DisplayName("Update comment - unauthorized")
     void testUpdateComment_Unauthorized() {
-        mockComment.getAuthor().setUsername("otherUser");
+        mockComment.getAuthor().setId(2L);
 
         CommentRequest request = new CommentRequest();
         request.setContent("Hack comment");
         request.setPostId(10L);
 
-        when(commentRepository.findById(100L)).thenReturn(Optional.of(mockComment));
+        when(commentRepository.findWithAuthorById(100L)).thenReturn(Optional.of(mockComment));
 
-        assertThrows(UnauthorizedException.class, () -> commentService.updateComment(100L, request, "john"));
+        assertThrows(UnauthorizedException.class, () -> commentService.updateComment(100L, request, principal));
     }
 
     @Test
     @DisplayName("Delete comment - success")
     void testDeleteComment() {
-        when(commentRepository.findById(100L)).thenReturn(Optional.of(mockComment));
-        commentService.deleteComment(100L, "john");
+        when(commentRepository.findWithAuthorById(100L)).thenReturn(Optional.of(mockComment));
+        commentService.deleteComment(100L, principal);
         verify(commentRepository).delete(mockComment);
+        verify(postRepository).adjustCommentCount(eq(10L), eq(-1L), any(LocalDateTime.class));
+        verify(postResponseCache).invalidate(10L);
+        verify(hotFeedCache).commentCountChanged(eq(10L), eq(-1), any(LocalDateTime.class));
     }
 
     @Test
     @DisplayName("Delete comment - unauthorized")
     void testDeleteComment_Unauthorized() {
-        mockComment.getAuthor().setUsername("someoneElse");
+        mockComment.getAuthor().setId(2L);
 
-        when(commentRepository.findById(100L)).thenReturn(Optional.of(mockComment));
+        when(commentRepository.findWithAuthorById(100L)).thenReturn(Optional.of(mockComment));
 
-        assertThrows(UnauthorizedException.class, () -> commentService.deleteComment(100L, "john"));
+        assertThrows(UnauthorizedException.class, () -> commentService.deleteComment(100L, principal));
+        verify(postRepository, never()).adjustCommentCount(anyLong(), anyLong(), any());
     }
 }
@@ -0,0 +1,240 @@
+package com.blog.application.service;
+
+import com.blog.application.dto.PostSummaryResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HotFeedCacheTest {
+
+    private static final int WINDOW = 10;
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private HotFeedCache cache;
+    private List<PostSummaryResponse> database;
+    private Map<Long, LocalDateTime> commentsChangedAt;
+    private AtomicInteger loads;
+    private Supplier<HotFeedCache.Snapshot> loader;
+
+    @BeforeEach
+    void setup() {
+        cache = new HotFeedCache(WINDOW, 60_000, new SimpleMeterRegistry());
+        database = new ArrayList<>();
+        commentsChangedAt = new HashMap<>();
+        for (long id = 20; id >= 1; id--) {
+            database.add(response(id, 0));
+        }
+        loads = new AtomicInteger();
+        loader = () -> {
+            loads.incrementAndGet();
+            List<HotFeedCache.Entry> newest = database.stream()
+                    .limit(WINDOW)
+                    .map(post -> new HotFeedCache.Entry(post, commentsChangedAt.get(post.getId())))
+                    .collect(Collectors.toList());
+            return new HotFeedCache.Snapshot(newest, database.size());
+        };
+    }
+
+    @Test
+    @DisplayName("Pages inside the window are served from one load, for any page size")
+    void testGetPage_SlicesWindow() {
+        assertEquals(List.of(20L, 19L, 18L, 17L, 16L), ids(cache.getPage(PageRequest.of(0, 5), loader)));
+        assertEquals(List.of(15L, 14L, 13L, 12L, 11L), ids(cache.getPage(PageRequest.of(1, 5), loader)));
+        assertEquals(List.of(20L, 19L), ids(cache.getPage(PageRequest.of(0, 2), loader)));
+        assertEquals(20, cache.getPage(PageRequest.of(0, 10), loader).get().getTotal());
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("Pages beyond the window go to the database")
+    void testGetPage_OutsideWindow() {
+        assertTrue(cache.getPage(PageRequest.of(1, 5), loader).isPresent());
+        assertFalse(cache.getPage(PageRequest.of(1, 10), loader).isPresent());
+        assertFalse(cache.getPage(PageRequest.of(0, 11), loader).isPresent());
+    }
+
+    @Test
+    @DisplayName("A new post is prepended without reloading")
+    void testPostCreated_Prepends() {
+        cache.getPage(PageRequest.of(0, 5), loader);
+
+        cache.postCreated(response(21L, 0));
+
+        HotFeedCache.Slice first = cache.getPage(PageRequest.of(0, 5), loader).get();
+        assertEquals(List.of(21L, 20L, 19L, 18L, 17L), ids(Optional.of(first)));
+        assertEquals(21, first.getTotal());
+        assertEquals(List.of(16L, 15L, 14L, 13L, 12L), ids(cache.getPage(PageRequest.of(1, 5), loader)));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("Edits and comment counts are patched in place")
+    void testPostUpdated_PatchesEntry() {
+        cache.getPage(PageRequest.of(0, 5), loader);
+
+        PostSummaryResponse edited = response(19L, 0);
+        edited.setTitle("Edited");
+        cache.postUpdated(edited);
+        cache.commentCountChanged(19L, 2, T0);
+
+        HotFeedCache.Entry entry = cache.getPage(PageRequest.of(0, 5), loader).get().getEntries().get(1);
+        assertEquals("Edited", entry.getResponse().getTitle());
+        assertEquals(2, entry.getResponse().getCommentCount());
+        assertNotNull(entry.getCommentsChangedAt());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("Deleted post disappears; pages past the shrunken window go to the database")
+    void testPostDeleted_RemovesEntry() {
+        cache.getPage(PageRequest.of(0, 5), loader);
+
+        cache.postDeleted(19L, createdAt(19L));
+
+        HotFeedCache.Slice first = cache.getPage(PageRequest.of(0, 5), loader).get();
+        assertEquals(List.of(20L, 18L, 17L, 16L, 15L), ids(Optional.of(first)));
+        assertEquals(19, first.getTotal());
+        assertFalse(cache.getPage(PageRequest.of(1, 5), loader).isPresent());
+    }
+
+    @Test
+    @DisplayName("Stale window is reloaded on the next read")
+    void testGetPage_ReloadsWhenStale() {
+        HotFeedCache shortLived = new HotFeedCache(WINDOW, 0, new SimpleMeterRegistry());
+        shortLived.getPage(PageRequest.of(0, 5), loader);
+
+        database.add(0, response(21L, 0)); // written by another instance
+
+        assertEquals(21L, ids(shortLived.getPage(PageRequest.of(0, 5), loader)).get(0));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Invalidated window is reloaded on the next read")
+    void testInvalidate_ForcesReload() {
+        cache.getPage(PageRequest.of(0, 5), loader);
+
+        cache.invalidate();
+        cache.getPage(PageRequest.of(0, 5), loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Load that races with a local write is repeated")
+    void testGetPage_RetriesRacingLoad() {
+        AtomicInteger attempts = new AtomicInteger();
+        Supplier<HotFeedCache.Snapshot> racing = () -> {
+            HotFeedCache.Snapshot snapshot = loader.get();
+            if (attempts.incrementAndGet() == 1) {
+                cache.postDeleted(20L, createdAt(20L)); // committed while the first query ran
+                database.remove(0);
+            }
+            return snapshot;
+        };
+
+        List<Long> ids = ids(cache.getPage(PageRequest.of(0, 3), racing));
+
+        assertEquals(List.of(19L, 18L, 17L), ids);
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    @DisplayName("A post that a reload already read is not prepended again")
+    void testPostCreated_AlreadyLoaded() {
+        cache.getPage(PageRequest.of(0, 5), loader);
+
+        // Committed, then read by a reload before its own patch ran
+        database.add(0, response(21L, 0));
+        cache.invalidate();
+        cache.getPage(PageRequest.of(0, 5), loader);
+        cache.postCreated(response(21L, 0));
+
+        HotFeedCache.Slice first = cache.getPage(PageRequest.of(0, 5), loader).get();
+        assertEquals(List.of(21L, 20L, 19L, 18L, 17L), ids(Optional.of(first)));
+        assertEquals(21, first.getTotal());
+    }
+
+    @Test
+    @DisplayName("A comment count change that a reload already read is not added again")
+    void testCommentCountChanged_AlreadyLoaded() {
+        database.set(1, response(19L, 2));
+        commentsChangedAt.put(19L, T0);
+
+        cache.getPage(PageRequest.of(0, 5), loader);
+        cache.commentCountChanged(19L, 2, T0.plusNanos(300)); // same microsecond as the stored value
+
+        assertEquals(2, cache.getPage(PageRequest.of(0, 5), loader).get().getEntries().get(1)
+                .getResponse().getCommentCount());
+    }
+
+    @Test
+    @DisplayName("Later comment count changes apply in any commit order")
+    void testCommentCountChanged_OutOfOrder() {
+        commentsChangedAt.put(19L, T0);
+        cache.getPage(PageRequest.of(0, 5), loader);
+
+        cache.commentCountChanged(19L, 1, T0.plusSeconds(2));
+        cache.commentCountChanged(19L, 1, T0.plusSeconds(1));
+
+        HotFeedCache.Entry entry = cache.getPage(PageRequest.of(0, 5), loader).get().getEntries().get(1);
+        assertEquals(2, entry.getResponse().getCommentCount());
+        assertEquals(T0.plusSeconds(2), entry.getCommentsChangedAt());
+    }
+
+    @Test
+    @DisplayName("A delete that a reload already read leaves the total alone; one older than the window lowers it")
+    void testPostDeleted_AlreadyLoadedOrOlder() {
+        cache.getPage(PageRequest.of(0, 5), loader);
+
+        database.remove(1); // post 19, read by a reload before its patch ran
+        cache.invalidate();
+        cache.getPage(PageRequest.of(0, 5), loader);
+        cache.postDeleted(19L, createdAt(19L));
+
+        assertEquals(19, cache.getPage(PageRequest.of(0, 5), loader).get().getTotal());
+
+        cache.postDeleted(2L, createdAt(2L));
+
+        HotFeedCache.Slice first = cache.getPage(PageRequest.of(0, 5), loader).get();
+        assertEquals(List.of(20L, 18L, 17L, 16L, 15L), ids(Optional.of(first)));
+        assertEquals(18, first.getTotal());
+    }
+
+    private static List<Long> ids(Optional<HotFeedCache.Slice> slice) {
+        return slice.orElseThrow().getEntries().stream()
+                .map(entry -> entry.getResponse().getId())
+                .collect(Collectors.toList());
+    }
+
+    private static PostSummaryResponse response(Long id, int commentCount) {
+        PostSummaryResponse response = new PostSummaryResponse();
+        response.setId(id);
+        response.setTitle("Post " + id);
+        response.setExcerpt("Content " + id);
+        response.setAuthorUsername("john");
+        response.setCreatedAt(createdAt(id));
+        response.setCommentCount(commentCount);
+        return response;
+    }
+
+    // Higher ids are newer, matching the feed order of the fake database
+    private static LocalDateTime createdAt(Long id) {
+        return T0.minusDays(1).plusMinutes(id);
+    }
+}
@@ -0,0 +1,196 @@
+package com.blog.application.service;
+
+import com.blog.application.dto.ImportReport;
+import com.blog.application.entity.Post;
+import com.blog.application.entity.User;
+import com.blog.application.repository.CommentRepository;
+import com.blog.application.repository.PostRepository;
+import com.blog.application.repository.UserIdentity;
+import com.blog.application.repository.UserRepository;
+import com.blog.application.search.PostSearchIndex;
+import com.blog.application.security.BulkPasswordHasher;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.StringReader;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class ImportServiceTest {
+
+    private static final String BCRYPT = "$2a$10$" + "a".repeat(53);
+
+    @Mock private UserRepository userRepository;
+    @Mock private PostRepository postRepository;
+    @Mock private CommentRepository commentRepository;
+    @Mock private BulkPasswordHasher passwordHasher;
+    @Mock private PostSearchIndex postSearchIndex;
+    @Mock private PostResponseCache postResponseCache;
+    @Mock private HotFeedCache hotFeedCache;
+    @Mock private EntityManager entityManager;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        when(userRepository.findByUsernameIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<String> usernames = invocation.getArgument(0);
+            return usernames.contains("john") ? List.of(identity(1L, "john")) : List.of();
+        });
+        when(passwordHasher.encodeAll(anyList())).thenAnswer(invocation -> invocation.<List<String>>getArgument(0).stream()
+                .map(password -> "encoded:" + password)
+                .toList());
+    }
+
+    @Test
+    @DisplayName("NDJSON posts - valid rows imported, every rejection reported with its line")
+    @SuppressWarnings("unchecked")
+    void testImportPosts_Ndjson() throws Exception {
+        String input = """
+                {"title":"First","content":"Body","authorUsername":"john"}
+                {"title":"","content":"Body","authorUsername":"john"}
+                {"title":"Third","content":"Body","authorUsername":"ghost"}
+                not json
+
+                {"title":"Sixth","content":"Body"}
+                """;
+
+        ImportReport report = createService(2, 100).importRows(ImportType.POSTS, ImportService.Format.NDJSON,
+                new StringReader(input));
+
+        assertEquals("posts", report.getType());
+        assertEquals(5, report.getRowsRead());
+        assertEquals(1, report.getImported());
+        assertEquals(4, report.getRejected());
+        assertEquals(List.of(2L, 3L, 4L, 6L), report.getErrors().stream().map(ImportReport.RowError::getLine).toList());
+        assertTrue(report.getErrors().get(0).getReason().startsWith("title:"));
+        assertEquals("Unknown author: ghost", report.getErrors().get(1).getReason());
+
+        ArgumentCaptor<List<Post>> saved = ArgumentCaptor.forClass(List.class);
+        verify(postRepository).saveAll(saved.capture());
+        assertEquals("First", saved.getValue().get(0).getTitle());
+        verify(postSearchIndex).index(any(Post.class));
+        verify(hotFeedCache).invalidate();
+        verify(entityManager).clear();
+    }
+
+    @Test
+    @DisplayName("CSV comments - quoted fields parsed, missing posts rejected, one counter update per post")
+    void testImportComments_Csv() throws Exception {
+        String input = "content,postId,authorUsername\n"
+                + "\"Nice, really\",10,john\n"
+                + "Orphan,99,john\n"
+                + "Missing id,,john\n"
+                + "Too,many,columns,here\n";
+        when(postRepository.findExistingIds(anyCollection())).thenReturn(List.of(10L));
+
+        ImportReport report = createService(100, 100).importRows(ImportType.COMMENTS, ImportService.Format.CSV,
+                new StringReader(input));
+
+        assertEquals(4, report.getRowsRead());
+        assertEquals(1, report.getImported());
+        assertEquals(3, report.getRejected());
+        verify(commentRepository).saveAll(argThat(comments -> ((List<?>) comments).size() == 1));
+        verify(postRepository).adjustCommentCount(eq(10L), eq(1L), any(LocalDateTime.class));
+        verify(postResponseCache).invalidate(10L);
+        verify(hotFeedCache).commentCountChanged(eq(10L), eq(1), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Users - duplicates rejected, plain passwords hashed, BCrypt hashes kept")
+    @SuppressWarnings("unchecked")
+    void testImportUsers() throws Exception {
+        String input = "username,email,password\n"
+                + "alice,alice@example.com,secret1\n"
+                + "bob,bob@example.com," + BCRYPT + "\n"
+                + "alice,other@example.com,secret2\n"
+                + "john,john@example.com,secret3\n";
+
+        ImportReport report = createService(100, 100).importRows(ImportType.USERS, ImportService.Format.CSV,
+                new StringReader(input));
+
+        assertEquals(2, report.getImported());
+        assertEquals(2, report.getRejected());
+        ArgumentCaptor<List<User>> saved = ArgumentCaptor.forClass(List.class);
+        verify(userRepository).saveAll(saved.capture());
+        assertEquals("encoded:secret1", saved.getValue().get(0).getPassword());
+        assertEquals(BCRYPT, saved.getValue().get(1).getPassword());
+        verify(passwordHasher, times(1)).encodeAll(List.of("secret1", "secret2", "secret3"));
+    }
+
+    @Test
+    @DisplayName("Failed batch - retried row by row, only the failing row is rejected")
+    void testImportUsers_BatchFallback() throws Exception {
+        when(userRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<User> users = invocation.getArgument(0);
+            if (users.stream().anyMatch(user -> user.getUsername().equals("bob"))) {
+                throw new IllegalStateException("Duplicate entry 'BOB'");
+            }
+            return users;
+        });
+        String input = """
+                {"username":"alice","email":"alice@example.com","password":"secret1"}
+                {"username":"bob","email":"bob@example.com","password":"secret2"}
+                """;
+
+        ImportReport report = createService(100, 100).importRows(ImportType.USERS, ImportService.Format.NDJSON,
+                new StringReader(input));
+
+        assertEquals(1, report.getImported());
+        assertEquals(1, report.getRejected());
+        assertEquals(2, report.getErrors().get(0).getLine());
+        assertEquals("Duplicate entry 'BOB'", report.getErrors().get(0).getReason());
+        verify(userRepository, times(3)).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Reported errors are capped, the rejected count is not")
+    void testErrorsTruncated() throws Exception {
+        String input = "not json\nnot json either\n";
+
+        ImportReport report = createService(100, 1).importRows(ImportType.POSTS, ImportService.Format.NDJSON,
+                new StringReader(input));
+
+        assertEquals(2, report.getRejected());
+        assertEquals(1, report.getErrors().size());
+        assertTrue(report.isErrorsTruncated());
+        verify(postRepository, never()).saveAll(anyList());
+    }
+
+    private ImportService createService(int batchSize, int maxReportedErrors) {
+        ObjectMapper objectMapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        return new ImportService(userRepository, postRepository, commentRepository, passwordHasher,
+                postSearchIndex, postResponseCache, hotFeedCache, entityManager, objectMapper,
+                Validation.buildDefaultValidatorFactory().getValidator(), transactionManager,
+                new SimpleMeterRegistry(), batchSize, maxReportedErrors, 1_000);
+    }
+
+    private static UserIdentity identity(Long id, String username) {
+        return new UserIdentity() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getUsername() {
+                return username;
+            }
+        };
+    }
+}
@@ -0,0 +1,102 @@
+package com.blog.application.service;
+
+import com.blog.application.dto.PostResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PostResponseCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PostResponseCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new PostResponseCache(1_000_000, 60_000, meterRegistry);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Loaded response is reused until invalidated")
+    void testGet_InvalidateReloads() {
+        PostResponse first = cache.get(1L, this::load);
+        assertSame(first, cache.get(1L, this::load));
+        assertEquals(1, loads.get());
+
+        cache.invalidate(1L);
+
+        assertNotSame(first, cache.get(1L, this::load));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("With replicas, loads right after an invalidation are not cached")
+    void testGet_NotCachedWithinReplicaLag() {
+        PostResponseCache replicaAware = new PostResponseCache(1_000_000, 60_000, 60_000, meterRegistry);
+        replicaAware.get(1L, this::load);
+        replicaAware.invalidate(1L);
+
+        replicaAware.get(1L, this::load);
+        replicaAware.get(1L, this::load);
+
+        assertEquals(3, loads.get());
+        replicaAware.get(2L, this::load);
+        replicaAware.get(2L, this::load);
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    @DisplayName("Without replicas the sticky window does not bypass the cache")
+    void testGet_CachedWithoutReplicas() {
+        PostResponseCache singleDatabase = new PostResponseCache(1_000_000, 60_000, false, 60_000, meterRegistry);
+        singleDatabase.get(1L, this::load);
+        singleDatabase.invalidate(1L);
+
+        singleDatabase.get(1L, this::load);
+        singleDatabase.get(1L, this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Hit ratio and memory footprint are published")
+    void testMetrics() {
+        cache.get(1L, this::load);
+        cache.get(1L, this::load);
+
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "postResponses")
+                .tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "postResponses")
+                .tag("result", "miss").functionCounter().count());
+        // Weight is applied by Caffeine's asynchronous maintenance, so only check the gauge exists
+        assertTrue(meterRegistry.get("cache.footprint").tag("cache", "postResponses").gauge().value() >= 0);
+    }
+
+    @Test
+    @DisplayName("Weight grows with the text held by the response")
+    void testEstimateBytes() {
+        PostResponse small = load(1L);
+        PostResponse large = load(2L);
+        large.setContent("x".repeat(10_000));
+
+        assertEquals(2 * (10_000 - small.getContent().length()),
+                PostResponseCache.estimateBytes(large) - PostResponseCache.estimateBytes(small));
+    }
+
+    private PostResponse load(Long id) {
+        loads.incrementAndGet();
+        PostResponse response = new PostResponse();
+        response.setId(id);
+        response.setTitle("Title");
+        response.setContent("Content");
+        response.setAuthorUsername("john");
+        return response;
+    }
+}
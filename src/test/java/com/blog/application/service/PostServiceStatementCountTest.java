@@ -0,0 +1,134 @@
+package com.blog.application.service;
+
+import com.blog.application.dto.PostSummaryResponse;
+import com.blog.application.entity.Comment;
+import com.blog.application.entity.Post;
+import com.blog.application.entity.User;
+import com.blog.application.search.PostSearchIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Guards against per-post queries creeping back into the feed: the number of statements
+ * needed to render a page must not depend on how many posts are on it.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "app.posts.feed-cache.window-size=0" // measure the repository path, not the hot feed cache
+})
+@Import({PostService.class, PostSearchIndex.class, PostResponseCache.class, HotFeedCache.class,
+        SimpleMeterRegistry.class})
+public class PostServiceStatementCountTest {
+
+    private static final int POST_COUNT = 60;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private UserService userService;
+
+    private Statistics statistics;
+    private Long lastPostId;
+
+    @BeforeEach
+    void setUp() {
+        User author = new User();
+        author.setUsername("feedAuthor");
+        author.setEmail("feed@example.com");
+        author.setPassword("secret");
+        author.setRole(User.Role.USER);
+        entityManager.persist(author);
+
+        for (int i = 0; i < POST_COUNT; i++) {
+            Post post = new Post();
+            post.setTitle("Post " + i);
+            post.setContent("Content " + i);
+            post.setAuthor(author);
+            entityManager.persist(post);
+            lastPostId = post.getId();
+
+            for (int j = 0; j < i % 3; j++) {
+                Comment comment = new Comment();
+                comment.setContent("Comment " + j);
+                comment.setPost(post);
+                comment.setAuthor(author);
+                entityManager.persist(comment);
+            }
+            post.setCommentCount(i % 3);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("Feed page runs a fixed number of statements regardless of page size")
+    void testGetAllPosts_StatementCountIsConstant() {
+        long smallPage = countStatements(() -> postService.getAllPosts(PageRequest.of(0, 5)));
+        entityManager.clear();
+        long largePage = countStatements(() -> postService.getAllPosts(PageRequest.of(0, 50)));
+
+        // page select (author joined) + total count; comment counts are read from posts.comment_count
+        assertEquals(2, smallPage);
+        assertEquals(smallPage, largePage);
+    }
+
+    @Test
+    @DisplayName("Feed page comment counts come from the denormalized column")
+    void testGetAllPosts_CommentCounts() {
+        Page<PostSummaryResponse> page = postService.getAllPosts(PageRequest.of(0, POST_COUNT));
+
+        long total = page.getContent().stream().mapToLong(PostSummaryResponse::getCommentCount).sum();
+        long expected = 0;
+        for (int i = 0; i < POST_COUNT; i++) {
+            expected += i % 3;
+        }
+        assertEquals(expected, total);
+    }
+
+    @Test
+    @DisplayName("Feed page carries the excerpt written on persist")
+    void testGetAllPosts_Excerpts() {
+        Page<PostSummaryResponse> page = postService.getAllPosts(PageRequest.of(0, POST_COUNT));
+
+        assertTrue(page.getContent().stream()
+                .allMatch(summary -> summary.getExcerpt().startsWith("Content ")));
+    }
+
+    @Test
+    @DisplayName("Single post is read together with its author")
+    void testGetPostById_OneStatement() {
+        long statements = countStatements(() -> postService.getPostById(lastPostId));
+
+        assertEquals(1, statements);
+    }
+
+    private long countStatements(Runnable action) {
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -1,20 +1,31 @@
 package com.blog.application.service;
 
+import com.blog.application.dto.CursorPage;
 import com.blog.application.dto.PostRequest;
 import com.blog.application.dto.PostResponse;
+import com.blog.application.dto.PostSummaryResponse;
 import com.blog.application.entity.Post;
 import com.blog.application.entity.User;
+import com.blog.application.exception.BadRequestException;
 import com.blog.application.exception.ResourceNotFoundException;
 import com.blog.application.exception.UnauthorizedException;
-import com.blog.application.repository.CommentRepository;
 import com.blog.application.repository.PostRepository;
-
+import com.blog.application.repository.PostVersion;
+import com.blog.application.search.PostSearchIndex;
+import com.blog.application.search.SearchHits;
+import com.blog.application.security.AuthenticatedUser;
+import com.blog.application.util.FieldSelection;
+import com.blog.application.util.KeysetCursor;
+import com.blog.application.util.ResourceVersion;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.springframework.data.domain.*;
 
 import java.time.LocalDateTime;
@@ -30,16 +41,25 @@ public class PostServiceTest {
     private PostRepository postRepository;
 
     @Mock
-    private CommentRepository commentRepository;
+    private UserService userService;
 
     @Mock
-    private UserService userService;
+    private PostSearchIndex postSearchIndex;
+
+    @Spy
+    private PostResponseCache postResponseCache = new PostResponseCache(1_000_000, 60_000, new SimpleMeterRegistry());
+
+    // Window of 0 keeps every page on the repository path; HotFeedCacheTest covers the cache itself
+    @Spy
+    private HotFeedCache hotFeedCache = new HotFeedCache(0, 5_000, new SimpleMeterRegistry());
 
     @InjectMocks
     private PostService postService;
 
     private User mockUser;
+    private AuthenticatedUser principal;
     private Post mockPost;
+    private PostSummaryResponse mockSummary;
 
     @BeforeEach
     void setup() {
@@ -48,6 +68,7 @@ public class PostServiceTest {
         mockUser = new User();
         mockUser.setId(1L);
         mockUser.setUsername("john");
+        principal = new AuthenticatedUser(1L, "john", null, User.Role.USER);
 
         mockPost = new Post();
         mockPost.setId(1L);
@@ -56,6 +77,10 @@ public class PostServiceTest {
         mockPost.setAuthor(mockUser);
         mockPost.setCreatedAt(LocalDateTime.now());
         mockPost.setUpdatedAt(LocalDateTime.now());
+        mockPost.setCommentCount(2L);
+
+        mockSummary = new PostSummaryResponse(1L, "Test Title", "Test Content", "john",
+                mockPost.getCreatedAt(), mockPost.getUpdatedAt(), 2L);
     }
 
     @Test
@@ -65,50 +90,257 @@ public class PostServiceTest {
         request.setTitle("New Post");
         request.setContent("This is a new post.");
 
-        when(userService.findByUsername("john")).thenReturn(mockUser);
+        when(userService.getAuthorReference(principal)).thenReturn(mockUser);
         when(postRepository.save(any(Post.class))).thenReturn(mockPost);
-        when(commentRepository.countByPostId(1L)).thenReturn(0L); // long literal
 
-        PostResponse response = postService.createPost(request, "john");
+        PostResponse response = postService.createPost(request, principal);
 
         assertEquals("Test Title", response.getTitle());
         assertEquals("john", response.getAuthorUsername());
+        verify(postSearchIndex).index(mockPost);
+        verify(hotFeedCache).postCreated(argThat(summary ->
+                summary.getId().equals(1L) && "Test Content".equals(summary.getExcerpt())));
+        verify(userService, never()).findByUsername(anyString());
     }
 
     @Test
-    @DisplayName("Get all posts - paginated")
+    @DisplayName("Create posts in bulk - one saveAll, every post indexed")
+    void testCreatePosts() {
+        PostRequest first = new PostRequest();
+        first.setTitle("First");
+        first.setContent("First content");
+        PostRequest second = new PostRequest();
+        second.setTitle("Second");
+        second.setContent("Second content");
+
+        when(userService.getAuthorReference(principal)).thenReturn(mockUser);
+        when(postRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Post> posts = invocation.getArgument(0);
+            long id = 100;
+            for (Post post : posts) {
+                post.setId(id++);
+            }
+            return posts;
+        });
+
+        List<PostResponse> responses = postService.createPosts(List.of(first, second), principal);
+
+        assertEquals(2, responses.size());
+        assertEquals("First", responses.get(0).getTitle());
+        assertEquals(101L, responses.get(1).getId());
+        verify(postRepository, never()).save(any(Post.class));
+        verify(postSearchIndex, times(2)).index(any(Post.class));
+        verify(hotFeedCache, times(2)).postCreated(any(PostSummaryResponse.class));
+    }
+
+    @Test
+    @DisplayName("Get all posts - paginated summaries, no entities loaded")
     void testGetAllPosts() {
         Pageable pageable = PageRequest.of(0, 10);
-        when(postRepository.findAllByOrderByCreatedAtDesc(pageable))
-                .thenReturn(new PageImpl<>(List.of(mockPost)));
-        when(commentRepository.countByPostId(1L)).thenReturn(2L); // long
+        when(postRepository.findSummariesByOrderByCreatedAtDesc(pageable))
+                .thenReturn(new PageImpl<>(List.of(mockSummary)));
 
-        Page<PostResponse> result = postService.getAllPosts(pageable);
+        Page<PostSummaryResponse> result = postService.getAllPosts(pageable);
 
         assertEquals(1, result.getContent().size());
         assertEquals("Test Title", result.getContent().get(0).getTitle());
+        assertEquals("Test Content", result.getContent().get(0).getExcerpt());
+        assertEquals(2, result.getContent().get(0).getCommentCount());
+        verify(postRepository, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Get post feed - first page with next cursor")
+    void testGetPostFeed_FirstPage() {
+        PostSummaryResponse older = new PostSummaryResponse(2L, "Older", "Older content", "john",
+                mockPost.getCreatedAt().minusMinutes(1), null, 0L);
+
+        when(postRepository.findSummaryFeed(PageRequest.of(0, 2)))
+                .thenReturn(List.of(mockSummary, older));
+
+        CursorPage<PostSummaryResponse> result = postService.getPostFeed("", 1);
+
+        assertEquals(1, result.getContent().size());
+        assertTrue(result.isHasNext());
+        KeysetCursor next = KeysetCursor.decode(result.getNextCursor());
+        assertEquals(mockPost.getId(), next.getId());
+        assertEquals(mockPost.getCreatedAt(), next.getCreatedAt());
+    }
+
+    @Test
+    @DisplayName("Get post feed - seeks after the cursor, last page")
+    void testGetPostFeed_AfterCursor() {
+        LocalDateTime createdAt = LocalDateTime.now();
+        String cursor = new KeysetCursor(createdAt, 5L).encode();
+
+        when(postRepository.findSummaryFeedAfter(createdAt, 5L, PageRequest.of(0, 11)))
+                .thenReturn(List.of(mockSummary));
+
+        CursorPage<PostSummaryResponse> result = postService.getPostFeed(cursor, 10);
+
+        assertEquals(1, result.getContent().size());
+        assertFalse(result.isHasNext());
+        assertNull(result.getNextCursor());
+        verify(postRepository, never()).findSummariesByOrderByCreatedAtDesc(any());
+    }
+
+    private static PostVersion version(Long id, LocalDateTime updatedAt, long commentCount,
+                                       LocalDateTime commentsChangedAt) {
+        return new PostVersion() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public LocalDateTime getUpdatedAt() {
+                return updatedAt;
+            }
+
+            @Override
+            public long getCommentCount() {
+                return commentCount;
+            }
+
+            @Override
+            public LocalDateTime getCommentsChangedAt() {
+                return commentsChangedAt;
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("Get post feed - invalid page size")
+    void testGetPostFeed_InvalidSize() {
+        assertThrows(BadRequestException.class, () -> postService.getPostFeed("", 0));
+        assertThrows(BadRequestException.class, () -> postService.getPostFeed("", 101));
     }
 
     @Test
     @DisplayName("Get post by ID - success")
     void testGetPostById() {
-        when(postRepository.findById(1L)).thenReturn(Optional.of(mockPost));
-        when(commentRepository.countByPostId(1L)).thenReturn(1L); // long
+        when(postRepository.findWithAuthorById(1L)).thenReturn(Optional.of(mockPost));
 
         PostResponse response = postService.getPostById(1L);
 
         assertEquals("Test Title", response.getTitle());
         assertEquals("john", response.getAuthorUsername());
+        assertEquals(2, response.getCommentCount());
+    }
+
+    @Test
+    @DisplayName("Get post by ID - repeated reads are served from the cache")
+    void testGetPostById_Cached() {
+        when(postRepository.findWithAuthorById(1L)).thenReturn(Optional.of(mockPost));
+
+        PostResponse first = postService.getPostById(1L);
+        PostResponse second = postService.getPostById(1L);
+
+        assertSame(first, second);
+        verify(postRepository, times(1)).findWithAuthorById(1L);
+    }
+
+    @Test
+    @DisplayName("Get post by ID - update invalidates the cached response")
+    void testGetPostById_InvalidatedByUpdate() {
+        when(postRepository.findWithAuthorById(1L)).thenReturn(Optional.of(mockPost));
+        when(postRepository.saveAndFlush(any(Post.class))).thenReturn(mockPost);
+        postService.getPostById(1L);
+
+        PostRequest request = new PostRequest();
+        request.setTitle("Updated Title");
+        request.setContent("Updated Content");
+        postService.updatePost(1L, request, principal);
+
+        assertEquals("Updated Title", postService.getPostById(1L).getTitle());
+        verify(postResponseCache).invalidate(1L);
+        verify(hotFeedCache).postUpdated(argThat(response -> "Updated Title".equals(response.getTitle())));
+    }
+
+    @Test
+    @DisplayName("Get post by ID - without content the summary columns are read instead of the entity")
+    void testGetPostById_WithoutContent() {
+        when(postRepository.findSummaryById(1L)).thenReturn(Optional.of(mockSummary));
+
+        PostResponse response = postService.getPostById(1L,
+                FieldSelection.parse("id,title,commentCount", PostResponse.class));
+
+        assertEquals("Test Title", response.getTitle());
+        assertEquals(2, response.getCommentCount());
+        assertNull(response.getContent());
+        verify(postRepository, never()).findWithAuthorById(any());
+    }
+
+    @Test
+    @DisplayName("Get post by ID - content selected goes through the response cache")
+    void testGetPostById_WithContent() {
+        when(postRepository.findWithAuthorById(1L)).thenReturn(Optional.of(mockPost));
+
+        PostResponse response = postService.getPostById(1L, FieldSelection.parse("id,content", PostResponse.class));
+
+        assertEquals("Test Content", response.getContent());
+        verify(postRepository, never()).findSummaryById(any());
     }
 
     @Test
     @DisplayName("Get post by ID - not found")
     void testGetPostById_NotFound() {
-        when(postRepository.findById(1L)).thenReturn(Optional.empty());
+        when(postRepository.findWithAuthorById(1L)).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () -> postService.getPostById(1L));
     }
 
+    @Test
+    @DisplayName("Post version - changes with the comment count, without loading the post")
+    void testGetPostVersion() {
+        LocalDateTime updatedAt = LocalDateTime.of(2024, 1, 1, 12, 0);
+        when(postRepository.findVersionById(1L))
+                .thenReturn(Optional.of(version(1L, updatedAt, 2L, null)))
+                .thenReturn(Optional.of(version(1L, updatedAt, 3L, updatedAt.plusHours(1))));
+
+        ResourceVersion before = postService.getPostVersion(1L);
+        ResourceVersion after = postService.getPostVersion(1L);
+
+        assertNotEquals(before.getEtag(), after.getEtag());
+        assertTrue(after.getLastModified() > before.getLastModified());
+        verify(postRepository, never()).findWithAuthorById(any());
+    }
+
+    @Test
+    @DisplayName("Post version - not found")
+    void testGetPostVersion_NotFound() {
+        when(postRepository.findVersionById(1L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> postService.getPostVersion(1L));
+    }
+
+    @Test
+    @DisplayName("Posts page version - ETag only from the page rows, changes when a deleted post is replaced by an older one")
+    void testGetPostsVersion() {
+        Pageable pageable = PageRequest.of(0, 10);
+        LocalDateTime older = LocalDateTime.of(2024, 1, 1, 12, 0);
+        LocalDateTime newer = older.plusDays(1);
+        Page<PostSummaryResponse> posts = new PageImpl<>(
+                List.of(summary(2L, newer, 0L), summary(1L, older, 4L)), pageable, 2);
+
+        ResourceVersion result = postService.getPostsVersion(posts);
+        ResourceVersion again = postService.getPostsVersion(new PageImpl<>(
+                List.of(summary(2L, newer, 0L), summary(1L, older, 4L)), pageable, 2));
+
+        Page<PostSummaryResponse> afterDelete = new PageImpl<>(
+                List.of(summary(1L, older, 4L), summary(3L, older.minusDays(1), 0L)), pageable, 2);
+        ResourceVersion deleted = postService.getPostsVersion(afterDelete);
+
+        assertEquals(-1, result.getLastModified());
+        assertEquals(result.getEtag(), again.getEtag());
+        assertNotEquals(result.getEtag(), deleted.getEtag());
+        verifyNoInteractions(postRepository);
+    }
+
+    private static PostSummaryResponse summary(Long id, LocalDateTime updatedAt, long commentCount) {
+        return new PostSummaryResponse(id, "Post " + id, "Excerpt", "testuser", updatedAt, updatedAt, commentCount);
+    }
+
     @Test
     @DisplayName("Update post - success")
     void testUpdatePost_Success() {
@@ -116,48 +348,50 @@ public class PostServiceTest {
         request.setTitle("Updated Title");
         request.setContent("Updated Content");
 
-        when(postRepository.findById(1L)).thenReturn(Optional.of(mockPost));
-        when(postRepository.save(any(Post.class))).thenReturn(mockPost);
-        when(commentRepository.countByPostId(1L)).thenReturn(0L); // long
+        when(postRepository.findWithAuthorById(1L)).thenReturn(Optional.of(mockPost));
+        when(postRepository.saveAndFlush(any(Post.class))).thenReturn(mockPost);
 
-        PostResponse response = postService.updatePost(1L, request, "john");
+        PostResponse response = postService.updatePost(1L, request, principal);
 
-        assertEquals("Test Title", response.getTitle());
+        assertEquals("Updated Title", response.getTitle());
         assertEquals("john", response.getAuthorUsername());
     }
 
     @Test
     @DisplayName("Update post - unauthorized")
     void testUpdatePost_Unauthorized() {
-        mockPost.getAuthor().setUsername("otherUser");
+        mockPost.getAuthor().setId(2L);
 
         PostRequest request = new PostRequest();
         request.setTitle("New Title");
         request.setContent("New Content");
 
-        when(postRepository.findById(1L)).thenReturn(Optional.of(mockPost));
+        when(postRepository.findWithAuthorById(1L)).thenReturn(Optional.of(mockPost));
 
-        assertThrows(UnauthorizedException.class, () -> postService.updatePost(1L, request, "john"));
+        assertThrows(UnauthorizedException.class, () -> postService.updatePost(1L, request, principal));
     }
 
     @Test
     @DisplayName("Delete post - success")
     void testDeletePost_Success() {
-        when(postRepository.findById(1L)).thenReturn(Optional.of(mockPost));
+        when(postRepository.findWithAuthorById(1L)).thenReturn(Optional.of(mockPost));
 
-        postService.deletePost(1L, "john");
+        postService.deletePost(1L, principal);
 
         verify(postRepository).delete(mockPost);
+        verify(postResponseCache).invalidate(1L);
+        verify(hotFeedCache).postDeleted(eq(1L), any());
+        verify(postSearchIndex).remove(1L);
     }
 
     @Test
     @DisplayName("Delete post - unauthorized")
     void testDeletePost_Unauthorized() {
-        mockPost.getAuthor().setUsername("someoneElse");
+        mockPost.getAuthor().setId(2L);
 
-        when(postRepository.findById(1L)).thenReturn(Optional.of(mockPost));
+        when(postRepository.findWithAuthorById(1L)).thenReturn(Optional.of(mockPost));
 
-        assertThrows(UnauthorizedException.class, () -> postService.deletePost(1L, "john"));
+        assertThrows(UnauthorizedException.class, () -> postService.deletePost(1L, principal));
     }
 
     @Test
@@ -165,11 +399,30 @@ public class PostServiceTest {
     void testSearchPosts() {
         Pageable pageable = PageRequest.of(0, 10);
 
-        when(postRepository.findByTitleContainingIgnoreCaseOrContentContainingIgnoreCase("test", pageable))
-                .thenReturn(new PageImpl<>(List.of(mockPost)));
-        when(commentRepository.countByPostId(1L)).thenReturn(3L); // long
+        when(postSearchIndex.isReady()).thenReturn(true);
+        when(postSearchIndex.search("test", 0, 10)).thenReturn(new SearchHits(List.of(1L), 1));
+        when(postRepository.findSummariesByIdIn(List.of(1L))).thenReturn(List.of(mockSummary));
+
+        Page<PostSummaryResponse> result = postService.searchPosts("test", pageable);
+
+        assertEquals(1, result.getContent().size());
+        assertEquals(1, result.getTotalElements());
+        assertEquals("Test Title", result.getContent().get(0).getTitle());
+        assertEquals(2, result.getContent().get(0).getCommentCount());
+        verify(postRepository, never()).searchSummaries(any(), any());
+        verify(postRepository, never()).findAllById(any());
+    }
+
+    @Test
+    @DisplayName("Search posts - falls back to database while index is building")
+    void testSearchPosts_IndexNotReady() {
+        Pageable pageable = PageRequest.of(0, 10);
+
+        when(postSearchIndex.isReady()).thenReturn(false);
+        when(postRepository.searchSummaries("test", pageable))
+                .thenReturn(new PageImpl<>(List.of(mockSummary)));
 
-        Page<PostResponse> result = postService.searchPosts("test", pageable);
+        Page<PostSummaryResponse> result = postService.searchPosts("test", pageable);
 
         assertEquals(1, result.getContent().size());
         assertEquals("Test Title", result.getContent().get(0).getTitle());
@@ -7,6 +7,7 @@ import com.blog.application.entity.User;
 import com.blog.application.exception.BadRequestException;
 import com.blog.application.exception.ResourceNotFoundException;
 import com.blog.application.repository.UserRepository;
+import com.blog.application.security.AuthenticatedUser;
 import com.blog.application.util.JwtUtil;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -18,6 +19,7 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -57,7 +59,7 @@ public class UserServiceTest {
         when(userRepository.existsByUsername("john")).thenReturn(false);
         when(userRepository.existsByEmail("john@example.com")).thenReturn(false);
         when(passwordEncoder.encode("password")).thenReturn("hashedPassword");
-        when(jwtUtil.generateToken("john")).thenReturn("mockToken");
+        when(jwtUtil.generateToken(any(AuthenticatedUser.class))).thenReturn("mockToken");
 
         User savedUser = new User();
         savedUser.setId(1L);
@@ -102,35 +104,33 @@ public class UserServiceTest {
     void testLogin_Success() {
         LoginRequest request = new LoginRequest("john", "password");
 
-        User user = new User();
-        user.setUsername("john");
-        user.setPassword("hashedPassword");
-        user.setEmail("john@example.com");
-
+        AuthenticatedUser principal = new AuthenticatedUser(1L, "john", "hashedPassword", User.Role.USER, "john@example.com");
         Authentication authentication = mock(Authentication.class);
+        when(authentication.getPrincipal()).thenReturn(principal);
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
                 .thenReturn(authentication);
-        when(userRepository.findByUsername("john")).thenReturn(Optional.of(user));
-        when(jwtUtil.generateToken("john")).thenReturn("mockToken");
+        when(jwtUtil.generateToken(principal)).thenReturn("mockToken");
 
         AuthResponse response = userService.login(request);
 
         assertNotNull(response);
         assertEquals("john", response.getUsername());
+        assertEquals("john@example.com", response.getEmail());
         assertEquals("mockToken", response.getToken());
+        // The authenticated principal is reused, no second user query
+        verifyNoInteractions(userRepository);
     }
 
     @Test
-    @DisplayName("Login user - user not found")
-    void testLogin_UserNotFound() {
-        LoginRequest request = new LoginRequest("john", "password");
+    @DisplayName("Login user - bad credentials")
+    void testLogin_BadCredentials() {
+        LoginRequest request = new LoginRequest("john", "wrong");
 
-        Authentication authentication = mock(Authentication.class);
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
-                .thenReturn(authentication);
-        when(userRepository.findByUsername("john")).thenReturn(Optional.empty());
+                .thenThrow(new BadCredentialsException("Bad credentials"));
 
-        assertThrows(ResourceNotFoundException.class, () -> userService.login(request));
+        assertThrows(BadCredentialsException.class, () -> userService.login(request));
+        verifyNoInteractions(jwtUtil);
     }
 
     @Test
@@ -140,7 +140,7 @@ public class UserServiceTest {
         user.setUsername("john");
         user.setEmail("john@example.com");
 
-        when(userRepository.findByUsername("john")).thenReturn(Optional.of(user));
+        when(userRepository.findByNaturalUsername("john")).thenReturn(Optional.of(user));
 
         User result = userService.findByUsername("john");
 
@@ -151,7 +151,7 @@ public class UserServiceTest {
     @Test
     @DisplayName("Find user by username - not found")
     void testFindByUsername_NotFound() {
-        when(userRepository.findByUsername("john")).thenReturn(Optional.empty());
+        when(userRepository.findByNaturalUsername("john")).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () -> userService.findByUsername("john"));
     }
@@ -0,0 +1,53 @@
+package com.blog.application.util;
+
+import com.blog.application.exception.BadRequestException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CsvReaderTest {
+
+    @Test
+    @DisplayName("Plain records are split on commas, CRLF line endings included")
+    void testPlainRecords() throws Exception {
+        CsvReader reader = new CsvReader(new StringReader("title,content\r\nHello,World\r\n"));
+
+        assertEquals(List.of("title", "content"), reader.readRecord());
+        assertEquals(List.of("Hello", "World"), reader.readRecord());
+        assertEquals(2, reader.getRecordLine());
+        assertNull(reader.readRecord());
+    }
+
+    @Test
+    @DisplayName("Quoted fields keep commas, escaped quotes and line breaks")
+    void testQuotedFields() throws Exception {
+        CsvReader reader = new CsvReader(new StringReader("\"a, b\",\"say \"\"hi\"\"\",\"two\nlines\"\nnext,,\n"));
+
+        assertEquals(List.of("a, b", "say \"hi\"", "two\nlines"), reader.readRecord());
+        assertEquals(1, reader.getRecordLine());
+        assertEquals(List.of("next", "", ""), reader.readRecord());
+        assertEquals(3, reader.getRecordLine());
+    }
+
+    @Test
+    @DisplayName("Last record without a trailing newline is still returned")
+    void testNoTrailingNewline() throws Exception {
+        CsvReader reader = new CsvReader(new StringReader("x,y"));
+
+        assertEquals(List.of("x", "y"), reader.readRecord());
+        assertNull(reader.readRecord());
+    }
+
+    @Test
+    @DisplayName("Unterminated quote is rejected as a bad request")
+    void testUnterminatedQuote() throws Exception {
+        CsvReader reader = new CsvReader(new StringReader("ok\n\"never closed\n"));
+
+        assertEquals(List.of("ok"), reader.readRecord());
+        assertThrows(BadRequestException.class, reader::readRecord);
+    }
+}
@@ -0,0 +1,65 @@
+package com.blog.application.util;
+
+import com.blog.application.dto.CommentResponse;
+import com.blog.application.dto.PostResponse;
+import com.blog.application.exception.BadRequestException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FieldSelectionTest {
+
+    @Test
+    @DisplayName("Missing or blank fields select everything")
+    void testParse_Blank() {
+        assertTrue(FieldSelection.parse(null, PostResponse.class).isAll());
+        assertTrue(FieldSelection.parse(" ", PostResponse.class).isAll());
+        assertTrue(FieldSelection.parse(",,", PostResponse.class).isAll());
+    }
+
+    @Test
+    @DisplayName("Listed fields are selected, surrounding whitespace ignored")
+    void testParse_Selection() {
+        FieldSelection selection = FieldSelection.parse("id, title ,commentCount", PostResponse.class);
+
+        assertFalse(selection.isAll());
+        assertTrue(selection.includes("title"));
+        assertTrue(selection.includes("commentCount"));
+        assertFalse(selection.includes("content"));
+    }
+
+    @Test
+    @DisplayName("Unknown fields are rejected and named in the message")
+    void testParse_Unknown() {
+        BadRequestException ex = assertThrows(BadRequestException.class,
+                () -> FieldSelection.parse("id,likes", CommentResponse.class));
+
+        assertTrue(ex.getMessage().contains("likes"));
+        assertTrue(ex.getMessage().contains("authorUsername"));
+    }
+
+    @Test
+    @DisplayName("Filter provider keeps only the selected properties")
+    void testToFilterProvider() {
+        PostResponse post = new PostResponse();
+        post.setId(1L);
+        post.setTitle("Title");
+        post.setContent("Body");
+        post.setCommentCount(3);
+
+        ObjectNode sparse = new ObjectMapper()
+                .setFilterProvider(FieldSelection.parse("id,commentCount", PostResponse.class).toFilterProvider())
+                .valueToTree(post);
+
+        assertEquals(2, sparse.size());
+        assertEquals(3, sparse.get("commentCount").asInt());
+        assertFalse(sparse.has("content"));
+
+        ObjectNode full = new ObjectMapper().setFilterProvider(FieldSelection.all().toFilterProvider())
+                .valueToTree(post);
+        assertEquals("Body", full.get("content").asText());
+    }
+}
@@ -0,0 +1,60 @@
+package com.blog.application.util;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JwtUtilTest {
+
+    private static final String SECRET = "testsecretkey123456789012345678901234";
+
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setup() {
+        jwtUtil = newJwtUtil(3_600_000);
+    }
+
+    @Test
+    @DisplayName("Generated token verifies in one pass")
+    void testVerify() {
+        VerifiedToken token = jwtUtil.verify(jwtUtil.generateToken("john"));
+
+        assertEquals("john", token.getSubject());
+        assertNotNull(token.getExpiration());
+        assertFalse(token.isExpired());
+        assertEquals("john", token.getClaim("sub", String.class));
+    }
+
+    @Test
+    @DisplayName("Tampered token is rejected")
+    void testVerify_Tampered() {
+        String token = jwtUtil.generateToken("john");
+        int position = token.length() - 10; // inside the signature, away from base64 padding bits
+        char replacement = token.charAt(position) == 'a' ? 'b' : 'a';
+        String tampered = token.substring(0, position) + replacement + token.substring(position + 1);
+
+        assertThrows(JwtException.class, () -> jwtUtil.verify(tampered));
+    }
+
+    @Test
+    @DisplayName("Expired token is rejected")
+    void testVerify_Expired() {
+        String token = newJwtUtil(-1_000).generateToken("john");
+
+        assertThrows(ExpiredJwtException.class, () -> jwtUtil.verify(token));
+    }
+
+    static JwtUtil newJwtUtil(long expirationMs) {
+        JwtUtil util = new JwtUtil();
+        ReflectionTestUtils.setField(util, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(util, "jwtExpirationMs", expirationMs);
+        util.init();
+        return util;
+    }
+}
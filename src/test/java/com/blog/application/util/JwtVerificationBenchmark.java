@@ -0,0 +1,83 @@
+package com.blog.application.util;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tokens verified per second on a single thread (i.e. per core), comparing the former
+ * three-parse validation path with {@link JwtUtil#verify}.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test -Dtest=JwtVerificationBenchmark}.
+ */
+@Tag("benchmark")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(1)
+@Fork(1)
+@Warmup(iterations = 10, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "testsecretkey123456789012345678901234";
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwtUtil = JwtUtilTest.newJwtUtil(3_600_000);
+        token = jwtUtil.generateToken("john");
+    }
+
+    /** What the filter used to do: getUsernameFromToken + validateToken, each rebuilding key and parser. */
+    @Benchmark
+    public boolean legacyThreeParses() {
+        String username = legacyClaims(token).getSubject();
+        String subject = legacyClaims(token).getSubject();
+        Date expiration = legacyClaims(token).getExpiration();
+        return username.equals(subject) && !expiration.before(new Date());
+    }
+
+    @Benchmark
+    public boolean singleVerify() {
+        VerifiedToken verified = jwtUtil.verify(token);
+        return verified.getSubject().equals("john") && !verified.isExpired();
+    }
+
+    private static Claims legacyClaims(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    @Test
+    void runBenchmarks() throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtVerificationBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,30 @@
+package com.blog.application.util;
+
+import com.blog.application.exception.BadRequestException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class KeysetCursorTest {
+
+    @Test
+    @DisplayName("Encoded cursor decodes to the same position")
+    void testRoundTrip() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 12, 30, 15, 123456000);
+
+        KeysetCursor decoded = KeysetCursor.decode(new KeysetCursor(createdAt, 42L).encode());
+
+        assertEquals(createdAt, decoded.getCreatedAt());
+        assertEquals(42L, decoded.getId());
+    }
+
+    @Test
+    @DisplayName("Malformed cursor is rejected as a bad request")
+    void testDecode_Invalid() {
+        assertThrows(BadRequestException.class, () -> KeysetCursor.decode("not-a-cursor"));
+        assertThrows(BadRequestException.class, () -> KeysetCursor.decode("%%%"));
+    }
+}
@@ -0,0 +1,72 @@
+package com.blog.application.util;
+
+import com.mysql.cj.conf.PropertyKey;
+import com.mysql.cj.conf.RuntimeProperty;
+import com.mysql.cj.jdbc.JdbcConnection;
+import com.mysql.cj.jdbc.JdbcPropertySet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.mockito.Mockito.*;
+
+public class MySqlCursorFetchTest {
+
+    @Mock
+    private Connection pooled;
+
+    @Mock
+    private JdbcConnection mysql;
+
+    @Mock
+    private JdbcPropertySet properties;
+
+    @Mock
+    private RuntimeProperty<Boolean> cursorFetch;
+
+    @Mock
+    private RuntimeProperty<Boolean> serverPrepStmts;
+
+    @BeforeEach
+    void setup() throws SQLException {
+        MockitoAnnotations.openMocks(this);
+        when(pooled.isWrapperFor(JdbcConnection.class)).thenReturn(true);
+        when(pooled.unwrap(JdbcConnection.class)).thenReturn(mysql);
+        when(mysql.getPropertySet()).thenReturn(properties);
+        when(properties.getBooleanProperty(PropertyKey.useCursorFetch)).thenReturn(cursorFetch);
+        when(properties.getBooleanProperty(PropertyKey.useServerPrepStmts)).thenReturn(serverPrepStmts);
+        when(cursorFetch.getValue()).thenReturn(false);
+        when(serverPrepStmts.getValue()).thenReturn(false);
+    }
+
+    @Test
+    @DisplayName("Cursor fetch and server-side prepares are on until the restore, then back to the URL settings")
+    void testEnable_RestoresPreviousSettings() throws SQLException {
+        InOrder order = inOrder(cursorFetch, serverPrepStmts);
+
+        try (MySqlCursorFetch.Restore ignored = MySqlCursorFetch.enable(pooled)) {
+            order.verify(cursorFetch).setValue(true);
+            order.verify(serverPrepStmts).setValue(true);
+        }
+
+        order.verify(cursorFetch).setValue(false);
+        order.verify(serverPrepStmts).setValue(false);
+    }
+
+    @Test
+    @DisplayName("Connections of other drivers are left untouched")
+    void testEnable_OtherDriver() throws SQLException {
+        when(pooled.isWrapperFor(JdbcConnection.class)).thenReturn(false);
+
+        MySqlCursorFetch.enable(pooled).close();
+
+        verify(pooled, never()).unwrap(any());
+        verifyNoInteractions(cursorFetch, serverPrepStmts);
+    }
+}
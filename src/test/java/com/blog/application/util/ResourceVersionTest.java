@@ -0,0 +1,56 @@
+package com.blog.application.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResourceVersionTest {
+
+    @Test
+    @DisplayName("Same parts give the same quoted ETag")
+    void testBuild_StableEtag() {
+        LocalDateTime time = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+        ResourceVersion first = ResourceVersion.builder().add(1L).add(2L).modifiedAt(time).build();
+        ResourceVersion second = ResourceVersion.builder().add(1L).add(2L).modifiedAt(time).build();
+
+        assertEquals(first.getEtag(), second.getEtag());
+        assertTrue(first.getEtag().startsWith("\"") && first.getEtag().endsWith("\""));
+    }
+
+    @Test
+    @DisplayName("Any changed part changes the ETag")
+    void testBuild_EtagChanges() {
+        ResourceVersion original = ResourceVersion.builder().add(1L).add(2L).build();
+        ResourceVersion changed = ResourceVersion.builder().add(1L).add(3L).build();
+
+        assertNotEquals(original.getEtag(), changed.getEtag());
+    }
+
+    @Test
+    @DisplayName("Last-Modified is the newest time; unknown without times")
+    void testBuild_LastModified() {
+        LocalDateTime older = LocalDateTime.of(2024, 1, 1, 12, 0);
+        LocalDateTime newer = older.plusMinutes(5);
+
+        ResourceVersion version = ResourceVersion.builder().modifiedAt(newer).modifiedAt(null).modifiedAt(older).build();
+
+        assertEquals(ResourceVersion.builder().modifiedAt(newer).build().getLastModified(), version.getLastModified());
+        assertEquals(-1, ResourceVersion.builder().add(1L).build().getLastModified());
+    }
+
+    @Test
+    @DisplayName("ETag-only version keeps the ETag and drops Last-Modified")
+    void testBuildEtagOnly() {
+        LocalDateTime time = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+        ResourceVersion full = ResourceVersion.builder().add(1L).modifiedAt(time).build();
+        ResourceVersion etagOnly = ResourceVersion.builder().add(1L).modifiedAt(time).buildEtagOnly();
+
+        assertEquals(full.getEtag(), etagOnly.getEtag());
+        assertEquals(-1, etagOnly.getLastModified());
+    }
+}